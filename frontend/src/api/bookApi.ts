@@ -21,9 +21,19 @@ export interface BookQueryParams {
   keyword: string;
 }
 
-interface BookSearchResponse<T> {
+export interface BookSearchOptions {
+  page?: number;
+  size?: number;
+  // 이전 응답의 nextCursor (있으면 page 대신 커서 기준으로 다음 결과 조회)
+  after?: string | null;
+}
+
+export interface BookSearchPage<T> {
   items: T[];
   total: number;
+  page: number;
+  size: number;
+  nextCursor: string | null;
 }
 
 export interface LibraryAvailability {
@@ -44,16 +54,27 @@ export interface BookPrice {
   available: boolean;
 }
 
-export const getBooks = async (keyword: string) => {
-  const key = `books:${keyword}`;
+export const getBooks = async (
+  keyword: string,
+  options: BookSearchOptions = {}
+): Promise<BookSearchPage<any>> => {
+  const { page = 0, size = 20, after } = options;
+  const key = `books:${keyword}:${page}:${size}:${after ?? ""}`;
   const cached = getCached(key);
   if (cached) return cached;
-  const response = await api.get<BookSearchResponse<any>>("/books/search", {
-    params: { q: keyword },
+  const response = await api.get<BookSearchPage<any>>("/books/search", {
+    params: after ? { q: keyword, size, after } : { q: keyword, page, size },
   });
-  const items = response.data?.items ?? [];
-  setCached(key, items);
-  return items;
+  const data = response.data;
+  const result: BookSearchPage<any> = {
+    items: data?.items ?? [],
+    total: data?.total ?? 0,
+    page: data?.page ?? page,
+    size: data?.size ?? size,
+    nextCursor: data?.nextCursor ?? null,
+  };
+  setCached(key, result);
+  return result;
 };
 
 export const searchExternalBooks = async (
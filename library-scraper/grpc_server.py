@@ -3,6 +3,8 @@ import grpc
 from concurrent import futures
 import logging
 import asyncio
+import queue
+import threading
 from playwright.async_api import async_playwright
 
 # Proto 파일에서 생성된 코드 import
@@ -12,6 +14,9 @@ import library_pb2_grpc
 logging.basicConfig(level=logging.INFO)
 logger = logging.getLogger(__name__)
 
+# 일괄/스트리밍 확인 시 동시에 띄울 브라우저 수
+BATCH_CONCURRENCY = 4
+
 
 class LibraryServicer(library_pb2_grpc.LibraryServiceServicer):
     """도서관 검색 gRPC 서비스"""
@@ -55,6 +60,50 @@ class LibraryServicer(library_pb2_grpc.LibraryServiceServicer):
                 error_message=f"검색 실패: {str(e)}"
             )
 
+    def BatchCheckLibrary(self, request, context):
+        """여러 권 일괄 확인 (요청 순서대로 응답)"""
+        logger.info(f"gRPC BatchCheckLibrary: {len(request.requests)}건")
+        with futures.ThreadPoolExecutor(max_workers=BATCH_CONCURRENCY) as pool:
+            responses = list(pool.map(lambda req: self._check_one(req, context), request.requests))
+        return library_pb2.BatchLibraryResponse(responses=responses)
+
+    def StreamCheckLibrary(self, request_iterator, context):
+        """양방향 스트리밍 확인
+        요청을 받는 즉시 조회를 시작하고 완료되는 순서대로 응답 (전체 요청 수신을 기다리지 않음)
+        """
+        completed = queue.Queue()
+
+        with futures.ThreadPoolExecutor(max_workers=BATCH_CONCURRENCY) as pool:
+            def read_requests():
+                # 요청 스트림은 별도 스레드에서 읽고, 끝나면 제출한 건수를 넣어 종료를 알림
+                submitted = 0
+                try:
+                    for req in request_iterator:
+                        pool.submit(self._check_one, req, context).add_done_callback(completed.put)
+                        submitted += 1
+                except Exception as e:
+                    logger.warning(f"스트리밍 요청 수신 중단: {e}")
+                finally:
+                    completed.put(submitted)
+
+            threading.Thread(target=read_requests, daemon=True).start()
+
+            total = None
+            finished = 0
+            while total is None or finished < total:
+                item = completed.get()
+                if isinstance(item, int):
+                    total = item
+                    continue
+                finished += 1
+                yield item.result()
+
+    def _check_one(self, request, context):
+        """단건 확인 후 request_id 반환"""
+        response = self.CheckLibrary(request, context)
+        response.request_id = request.request_id
+        return response
+
     def HealthCheck(self, request, context):
         """건강 체크"""
         return library_pb2.HealthCheckResponse(
@@ -1,11 +1,14 @@
 package yju.danawa.com.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import yju.danawa.com.service.YjuLibraryService.LibraryAvailability;
 
 import java.time.Duration;
 
@@ -13,12 +16,72 @@ import java.time.Duration;
 @EnableCaching
 public class CacheConfig {
 
+    public static final String LIBRARY_AVAILABILITY = "libraryAvailability";
+    public static final String USER_PRINCIPALS = "userPrincipals";
+    public static final String USER_PROFILES = "userProfiles";
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager manager = new CaffeineCacheManager("books", "externalBooks", "users");
+    public CacheManager cacheManager(
+            @Value("${app.library.cache.maximum-size:5000}") long libraryMaximumSize,
+            @Value("${app.library.cache.found-ttl-minutes:10}") long foundTtlMinutes,
+            @Value("${app.library.cache.not-found-ttl-minutes:60}") long notFoundTtlMinutes,
+            @Value("${app.library.cache.error-ttl-seconds:60}") long errorTtlSeconds,
+            @Value("${app.auth.cache.principal-maximum-size:2000}") long principalMaximumSize,
+            @Value("${app.auth.cache.principal-ttl-minutes:10}") long principalTtlMinutes,
+            @Value("${app.auth.cache.profile-maximum-size:500}") long profileMaximumSize,
+            @Value("${app.auth.cache.profile-ttl-minutes:5}") long profileTtlMinutes) {
+        CaffeineCacheManager manager = new CaffeineCacheManager("books", "bookCounts", "externalBooks");
         manager.setCaffeine(Caffeine.newBuilder()
                 .maximumSize(500)
-                .expireAfterWrite(Duration.ofMinutes(10)));
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats());
+
+        // 도서관 소장 조회: 결과 종류별로 보관 시간을 다르게 (소장/대출 상태 < 미소장, 오류는 짧게)
+        manager.registerCustomCache(LIBRARY_AVAILABILITY, Caffeine.newBuilder()
+                .maximumSize(libraryMaximumSize)
+                .expireAfter(new LibraryAvailabilityExpiry(
+                        Duration.ofMinutes(foundTtlMinutes),
+                        Duration.ofMinutes(notFoundTtlMinutes),
+                        Duration.ofSeconds(errorTtlSeconds)))
+                .recordStats()
+                .build());
+
+        // 사용자 캐시는 용도별로 분리하고 불변 값(UserPrincipal, UserProfileDto)만 보관 (JPA 엔티티는 캐시하지 않음)
+        manager.registerCustomCache(USER_PRINCIPALS, Caffeine.newBuilder()
+                .maximumSize(principalMaximumSize)
+                .expireAfterWrite(Duration.ofMinutes(principalTtlMinutes))
+                .recordStats()
+                .build());
+        manager.registerCustomCache(USER_PROFILES, Caffeine.newBuilder()
+                .maximumSize(profileMaximumSize)
+                .expireAfterWrite(Duration.ofMinutes(profileTtlMinutes))
+                .recordStats()
+                .build());
         return manager;
     }
+
+    private record LibraryAvailabilityExpiry(Duration foundTtl, Duration notFoundTtl, Duration errorTtl)
+            implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            if (value instanceof LibraryAvailability availability) {
+                if (availability.getErrorMessage() != null) {
+                    return errorTtl.toNanos();
+                }
+                return availability.isFound() ? foundTtl.toNanos() : notFoundTtl.toNanos();
+            }
+            return errorTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -8,12 +8,17 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "click_logs", indexes = {
         @Index(name = "idx_clicklog_isbn", columnList = "isbn"),
-        @Index(name = "idx_clicklog_target_channel", columnList = "target_channel")
+        @Index(name = "idx_clicklog_target_channel", columnList = "target_channel"),
+        @Index(name = "idx_clicklog_created_at", columnList = "created_at")
 })
 public class ClickLog {
 
+    // 시퀀스 호출 한 번으로 확보하는 ID 수 (pooled-lo), IDENTITY 와 달리 batch INSERT 가능
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "click_logs_seq")
+    @SequenceGenerator(name = "click_logs_seq", sequenceName = "click_logs_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "click_id")
     private Long clickId;
 
@@ -26,7 +31,8 @@ public class ClickLog {
     @Column(name = "slider_value")
     private Double sliderValue;
 
-    @Column(name = "created_at", columnDefinition = "TIMESTAMP")
+    // 파티션 키 (LogPartitionService), 비어 있으면 저장할 수 없음
+    @Column(name = "created_at", columnDefinition = "TIMESTAMP", nullable = false)
     private LocalDateTime createdAt;
 
     public ClickLog() {
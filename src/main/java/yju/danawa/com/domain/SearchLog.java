@@ -12,8 +12,12 @@ import java.time.LocalDateTime;
 })
 public class SearchLog {
 
+    // 시퀀스 호출 한 번으로 확보하는 ID 수 (pooled-lo), IDENTITY 와 달리 batch INSERT 가능
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "search_logs_seq")
+    @SequenceGenerator(name = "search_logs_seq", sequenceName = "search_logs_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "log_id")
     private Long logId;
 
@@ -22,7 +26,8 @@ public class SearchLog {
     @Column(name = "user_dept")
     private String userDept;
 
-    @Column(name = "search_time", columnDefinition = "TIMESTAMP")
+    // 파티션 키 (LogPartitionService), 비어 있으면 저장할 수 없음
+    @Column(name = "search_time", columnDefinition = "TIMESTAMP", nullable = false)
     private LocalDateTime searchTime;
 
     public SearchLog() {
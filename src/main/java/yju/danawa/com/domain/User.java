@@ -8,7 +8,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "users", indexes = {
-        @Index(name = "idx_users_username", columnList = "username")
+        @Index(name = "idx_users_username", columnList = "username"),
+        @Index(name = "idx_users_password_fingerprint", columnList = "password_fingerprint")
 })
 public class User {
 
@@ -26,6 +27,13 @@ public class User {
     @Column(name = "password", nullable = false, length = 255)
     private String password;
 
+    // 비밀번호 중복 확인용 HMAC 지문 (PasswordFingerprintService), 없거나 pepper 버전이 다르면 다음 로그인 때 다시 채워짐
+    @Column(name = "password_fingerprint", length = 64)
+    private String passwordFingerprint;
+
+    @Column(name = "password_fingerprint_version")
+    private Integer passwordFingerprintVersion;
+
     @Column(length = 255)
     private String email;
 
@@ -108,6 +116,22 @@ public class User {
         this.password = password;
     }
 
+    public String getPasswordFingerprint() {
+        return passwordFingerprint;
+    }
+
+    public void setPasswordFingerprint(String passwordFingerprint) {
+        this.passwordFingerprint = passwordFingerprint;
+    }
+
+    public Integer getPasswordFingerprintVersion() {
+        return passwordFingerprintVersion;
+    }
+
+    public void setPasswordFingerprintVersion(Integer passwordFingerprintVersion) {
+        this.passwordFingerprintVersion = passwordFingerprintVersion;
+    }
+
     public String getEmail() {
         return email;
     }
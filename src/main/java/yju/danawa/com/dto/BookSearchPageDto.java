@@ -0,0 +1,11 @@
+package yju.danawa.com.dto;
+
+import java.util.List;
+
+public record BookSearchPageDto(
+        List<BookDto> items,
+        long total,
+        int page,
+        int size,
+        String nextCursor
+) {}
@@ -0,0 +1,5 @@
+package yju.danawa.com.dto;
+
+import java.time.LocalDateTime;
+
+public record SearchCardinalityDto(LocalDateTime from, LocalDateTime to, long distinctKeywords, long distinctDepartments) {}
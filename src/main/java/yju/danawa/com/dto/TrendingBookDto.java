@@ -0,0 +1,3 @@
+package yju.danawa.com.dto;
+
+public record TrendingBookDto(String isbn, long clicks, BookDto book) {}
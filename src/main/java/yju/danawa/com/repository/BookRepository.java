@@ -7,20 +7,94 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookRepository extends JpaRepository<Book, String> {
 
+    String KEYWORD_MATCH = "(b.isbn ilike concat('%', :q, '%') " +
+            "or b.title ilike concat('%', :q, '%') " +
+            "or b.author ilike concat('%', :q, '%') " +
+            "or b.publisher ilike concat('%', :q, '%'))";
+
+    // 제목/저자/출판사 중 가장 높은 trigram 유사도 (커서 비교를 위해 float8로 고정)
+    String TRIGRAM_RANK = "cast(greatest(" +
+            "similarity(b.title, :q), " +
+            "similarity(coalesce(b.author, ''), :q), " +
+            "similarity(coalesce(b.publisher, ''), :q)) as float8)";
+
+    String RANKED_COLUMNS = "b.isbn as isbn, b.title as title, b.author as author, b.publisher as publisher, " +
+            "b.image_url as \"imageUrl\", b.published_date as \"publishedDate\", b.price as price, ";
+
     Optional<Book> findByIsbn(String isbn);
 
     Page<Book> findByTitleContainingIgnoreCase(String title, Pageable pageable);
 
-    @Query(value = "select * from books b " +
-            "where b.isbn ilike concat('%', :q, '%') " +
-            "or b.title ilike concat('%', :q, '%') " +
-            "or b.author ilike concat('%', :q, '%') " +
-            "or b.publisher ilike concat('%', :q, '%')",
+    @Query(value = "select * from books b where " + KEYWORD_MATCH,
             nativeQuery = true)
     List<Book> searchByKeyword(@Param("q") String q);
+
+    @Query(value = "select count(*) from books b where " + KEYWORD_MATCH,
+            nativeQuery = true)
+    long countByKeyword(@Param("q") String q);
+
+    /**
+     * ILIKE 검색 페이지 (순위 없음, ISBN 순)
+     */
+    @Query(value = "select " + RANKED_COLUMNS + "cast(0 as float8) as rank from books b " +
+            "where " + KEYWORD_MATCH + " " +
+            "order by b.isbn limit :limit offset :offset",
+            nativeQuery = true)
+    List<RankedBook> searchByKeywordPage(@Param("q") String q,
+                                         @Param("limit") int limit,
+                                         @Param("offset") long offset);
+
+    @Query(value = "select " + RANKED_COLUMNS + "cast(0 as float8) as rank from books b " +
+            "where " + KEYWORD_MATCH + " and b.isbn > :afterIsbn " +
+            "order by b.isbn limit :limit",
+            nativeQuery = true)
+    List<RankedBook> searchByKeywordAfter(@Param("q") String q,
+                                          @Param("afterIsbn") String afterIsbn,
+                                          @Param("limit") int limit);
+
+    /**
+     * pg_trgm GIN 인덱스(idx_books_*_trgm)를 타는 키워드 검색
+     * 제목/저자/출판사 유사도 순으로 정렬
+     */
+    @Query(value = "select " + RANKED_COLUMNS + TRIGRAM_RANK + " as rank from books b " +
+            "where " + KEYWORD_MATCH + " " +
+            "order by rank desc, b.isbn limit :limit offset :offset",
+            nativeQuery = true)
+    List<RankedBook> searchByTrigramPage(@Param("q") String q,
+                                         @Param("limit") int limit,
+                                         @Param("offset") long offset);
+
+    /**
+     * keyset 페이지: (rank, isbn) 커서 이후의 결과
+     */
+    @Query(value = "select " + RANKED_COLUMNS + TRIGRAM_RANK + " as rank from books b " +
+            "where " + KEYWORD_MATCH + " " +
+            "and (" + TRIGRAM_RANK + " < :afterRank " +
+            "or (" + TRIGRAM_RANK + " = :afterRank and b.isbn > :afterIsbn)) " +
+            "order by rank desc, b.isbn limit :limit",
+            nativeQuery = true)
+    List<RankedBook> searchByTrigramAfter(@Param("q") String q,
+                                          @Param("afterRank") double afterRank,
+                                          @Param("afterIsbn") String afterIsbn,
+                                          @Param("limit") int limit);
+
+    /**
+     * 검색 결과 한 행 + 정렬 순위
+     */
+    interface RankedBook {
+        String getIsbn();
+        String getTitle();
+        String getAuthor();
+        String getPublisher();
+        String getImageUrl();
+        LocalDate getPublishedDate();
+        Double getPrice();
+        Double getRank();
+    }
 }
@@ -0,0 +1,17 @@
+package yju.danawa.com.repository;
+
+import yju.danawa.com.dto.BookClickCountDto;
+import yju.danawa.com.dto.ChannelSliderStatsDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 롤업 테이블 기반 클릭 통계 (ClickLogRepositoryCustomImpl)
+ */
+public interface ClickLogRepositoryCustom {
+
+    List<ChannelSliderStatsDto> findChannelSliderStatsBetween(LocalDateTime start, LocalDateTime end);
+
+    List<BookClickCountDto> findTopBooksByClicksBetween(LocalDateTime start, LocalDateTime end);
+}
@@ -0,0 +1,94 @@
+package yju.danawa.com.repository;
+
+import yju.danawa.com.dto.BookClickCountDto;
+import yju.danawa.com.dto.ChannelSliderStatsDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 클릭 통계 조회
+ * 완결된 시간/일 버킷은 롤업 테이블(ClickLogRollupService 가 갱신)에서 읽고,
+ * 구간 양 끝의 부분 버킷과 watermark 이후만 click_logs 원본을 조회
+ */
+public class ClickLogRepositoryCustomImpl implements ClickLogRepositoryCustom {
+
+    public static final String WATERMARK_NAME = "click_logs";
+
+    private static final String WATERMARK_SQL = "select watermark from rollup_watermarks where name = ?";
+
+    // 파라미터 순서: 일 롤업(2), 시간 롤업(4), 원본(4)
+    private static final String CHANNEL_STATS_SQL =
+            "select nullif(target_channel, '') as target_channel, " +
+            "case when sum(slider_count) = 0 then null else sum(slider_sum) / sum(slider_count) end as avg_slider, " +
+            "sum(clicks) as clicks from (" +
+            "select target_channel, slider_sum, slider_count, clicks from click_rollups_channel " +
+            "where granularity = 'day' and bucket_start >= ? and bucket_start < ? " +
+            "union all " +
+            "select target_channel, slider_sum, slider_count, clicks from click_rollups_channel " +
+            "where granularity = 'hour' and ((bucket_start >= ? and bucket_start < ?) or (bucket_start >= ? and bucket_start < ?)) " +
+            "union all " +
+            "select coalesce(target_channel, ''), coalesce(sum(slider_value), 0), count(slider_value), count(*) from click_logs " +
+            "where (created_at >= ? and created_at < ?) or (created_at >= ? and created_at <= ?) " +
+            "group by target_channel" +
+            ") t group by target_channel " +
+            "order by avg_slider desc nulls last";
+
+    private static final String TOP_BOOKS_SQL =
+            "select nullif(isbn, '') as isbn, sum(clicks) as clicks from (" +
+            "select isbn, clicks from click_rollups_isbn " +
+            "where granularity = 'day' and bucket_start >= ? and bucket_start < ? " +
+            "union all " +
+            "select isbn, clicks from click_rollups_isbn " +
+            "where granularity = 'hour' and ((bucket_start >= ? and bucket_start < ?) or (bucket_start >= ? and bucket_start < ?)) " +
+            "union all " +
+            "select coalesce(isbn, ''), count(*) from click_logs " +
+            "where (created_at >= ? and created_at < ?) or (created_at >= ? and created_at <= ?) " +
+            "group by isbn" +
+            ") t group by isbn " +
+            "order by clicks desc";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClickLogRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<ChannelSliderStatsDto> findChannelSliderStatsBetween(LocalDateTime start, LocalDateTime end) {
+        return jdbcTemplate.query(CHANNEL_STATS_SQL,
+                (rs, rowNum) -> new ChannelSliderStatsDto(
+                        rs.getString("target_channel"),
+                        rs.getObject("avg_slider", Double.class),
+                        rs.getLong("clicks")),
+                params(plan(start, end)));
+    }
+
+    @Override
+    public List<BookClickCountDto> findTopBooksByClicksBetween(LocalDateTime start, LocalDateTime end) {
+        return jdbcTemplate.query(TOP_BOOKS_SQL,
+                (rs, rowNum) -> new BookClickCountDto(rs.getString("isbn"), rs.getLong("clicks")),
+                params(plan(start, end)));
+    }
+
+    private RollupPlan plan(LocalDateTime start, LocalDateTime end) {
+        List<Timestamp> watermark = jdbcTemplate.queryForList(WATERMARK_SQL, Timestamp.class, WATERMARK_NAME);
+        LocalDateTime current = watermark.isEmpty() || watermark.get(0) == null
+                ? null : watermark.get(0).toLocalDateTime();
+        return RollupPlan.of(start, end, current);
+    }
+
+    private static Object[] params(RollupPlan plan) {
+        return new Object[]{
+                ts(plan.dayStart()), ts(plan.dayEnd()),
+                ts(plan.rollupStart()), ts(plan.dayStart()), ts(plan.dayEnd()), ts(plan.rollupEnd()),
+                ts(plan.start()), ts(plan.rollupStart()), ts(plan.rollupEnd()), ts(plan.end())
+        };
+    }
+
+    private static Timestamp ts(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+}
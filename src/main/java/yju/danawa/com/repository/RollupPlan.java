@@ -0,0 +1,47 @@
+package yju.danawa.com.repository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * [start, end] 구간을 롤업 테이블과 원본 로그로 나눈 조회 계획
+ * - 원본: [start, rollupStart), [rollupEnd, end]
+ * - 시간 롤업: [rollupStart, dayStart), [dayEnd, rollupEnd)
+ * - 일 롤업: [dayStart, dayEnd)
+ * 롤업은 watermark(정시) 이전의 완결된 시간 버킷만 사용
+ */
+record RollupPlan(LocalDateTime start,
+                  LocalDateTime end,
+                  LocalDateTime rollupStart,
+                  LocalDateTime dayStart,
+                  LocalDateTime dayEnd,
+                  LocalDateTime rollupEnd) {
+
+    static RollupPlan of(LocalDateTime start, LocalDateTime end, LocalDateTime watermark) {
+        LocalDateTime rollupStart = ceil(start, ChronoUnit.HOURS);
+        LocalDateTime rollupEnd = end.truncatedTo(ChronoUnit.HOURS);
+        if (watermark == null) {
+            rollupEnd = rollupStart;
+        } else if (watermark.isBefore(rollupEnd)) {
+            rollupEnd = watermark;
+        }
+        if (!rollupStart.isBefore(rollupEnd)) {
+            // 완결된 버킷이 없으면 전체를 원본에서 조회
+            return new RollupPlan(start, end, start, start, start, start);
+        }
+
+        LocalDateTime dayStart = ceil(rollupStart, ChronoUnit.DAYS);
+        LocalDateTime dayEnd = rollupEnd.truncatedTo(ChronoUnit.DAYS);
+        if (!dayStart.isBefore(dayEnd)) {
+            dayStart = rollupEnd;
+            dayEnd = rollupEnd;
+        }
+        return new RollupPlan(start, end, rollupStart, dayStart, dayEnd, rollupEnd);
+    }
+
+    private static LocalDateTime ceil(LocalDateTime time, TemporalUnit unit) {
+        LocalDateTime truncated = time.truncatedTo(unit);
+        return truncated.equals(time) ? time : truncated.plus(1, unit);
+    }
+}
@@ -3,17 +3,22 @@ package yju.danawa.com.repository;
 import yju.danawa.com.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsernameIgnoreCase(String username);
 
+    /**
+     * 사용자 + 역할을 한 번의 조회로 (fetch join)
+     */
+    @Query("select distinct u from User u left join fetch u.roles where lower(u.username) = lower(:username)")
+    Optional<User> findWithRolesByUsername(@Param("username") String username);
+
     boolean existsByUsernameIgnoreCase(String username);
 
     boolean existsByStudentId(String studentId);
 
-    @Query("select u.password from User u")
-    List<String> findAllPasswordHashes();
+    boolean existsByPasswordFingerprintAndPasswordFingerprintVersion(String passwordFingerprint, Integer passwordFingerprintVersion);
 }
@@ -1,25 +1,30 @@
 package yju.danawa.com.security;
 
 import yju.danawa.com.service.JwtService;
+import yju.danawa.com.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final UserService userService;
 
-    public JwtAuthFilter(JwtService jwtService) {
+    public JwtAuthFilter(JwtService jwtService, UserService userService) {
         this.jwtService = jwtService;
+        this.userService = userService;
     }
 
     @Override
@@ -28,13 +33,27 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            if (jwtService.isTokenValid(token)) {
-                String username = jwtService.extractUsername(token);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList());
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+            // 검증과 사용자명 추출을 한 번의 파싱으로 (최근 검증한 토큰은 캐시 적중)
+            // 역할은 캐시된 사용자 스냅샷에서 (비활성/잠긴 사용자는 인증하지 않음)
+            jwtService.validate(token)
+                    .flatMap(verified -> userService.findPrincipal(verified.username()))
+                    .filter(principal -> principal.enabled() && !principal.locked())
+                    .ifPresent(principal -> {
+                        UsernamePasswordAuthenticationToken authentication =
+                                new UsernamePasswordAuthenticationToken(principal.username(), null, authorities(principal.roles()));
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    });
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * user_roles.role_name → ROLE_ 접두어 권한 (hasRole("ADMIN") 으로 확인)
+     */
+    private static List<SimpleGrantedAuthority> authorities(List<String> roles) {
+        return roles.stream()
+                .map(role -> role.trim().toUpperCase(Locale.ROOT))
+                .map(role -> new SimpleGrantedAuthority(role.startsWith("ROLE_") ? role : "ROLE_" + role))
+                .toList();
+    }
 }
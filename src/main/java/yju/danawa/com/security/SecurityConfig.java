@@ -1,7 +1,10 @@
 package yju.danawa.com.security;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -11,17 +14,45 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 public class SecurityConfig {
 
+    // 인증 없이 호출되는 조회/클릭 기록 경로 (요청 수가 가장 많음)
+    // 로그 내보내기/검색 분석은 원본 로그 기반이라 여기서 제외하고 관리자만 허용
+    private static final String[] PUBLIC_PATHS = {
+            "/api/books/**",
+            "/api/external/books/**",
+            "/api/logs/click"
+    };
+
+    /**
+     * 공개 경로 전용 체인: JWT 파싱, 보안 컨텍스트 저장, 익명 인증, 요청 캐시 없이 통과
+     * (클릭 기록은 컨트롤러에서 X-API-KEY 로 확인)
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain publicFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(PUBLIC_PATHS)
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context.disable())
+                .anonymous(anonymous -> anonymous.disable())
+                .requestCache(cache -> cache.disable())
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // 스트리밍 응답(StreamingResponseBody)은 ASYNC 디스패치로 끝나는데, JwtAuthFilter 는 요청당 한 번만
+                        // 실행되고 컨텍스트를 저장하지 않아 그 시점엔 인증이 비어 있음 (권한은 최초 REQUEST 에서 이미 확인)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers("/api/books/**").permitAll()
-                        .requestMatchers("/api/external/books/**").permitAll()
-                        .requestMatchers("/api/logs/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/api/logs/export/**", "/api/logs/searches/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .httpBasic(Customizer.withDefaults());
@@ -29,4 +60,15 @@ public class SecurityConfig {
         http.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
+
+    /**
+     * JwtAuthFilter 는 @Component 라 서블릿 필터로도 자동 등록되어 모든 요청에서 실행됨
+     * 보안 체인(securityFilterChain) 안에서만 실행되도록 서블릿 등록은 끔
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthFilter> jwtAuthFilterRegistration(JwtAuthFilter jwtAuthFilter) {
+        FilterRegistrationBean<JwtAuthFilter> registration = new FilterRegistrationBean<>(jwtAuthFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
@@ -0,0 +1,36 @@
+package yju.danawa.com.security;
+
+import yju.danawa.com.domain.User;
+import yju.danawa.com.domain.UserRole;
+
+import java.util.List;
+
+/**
+ * 로그인/권한 확인용 사용자 스냅샷 (불변, 역할 포함)
+ * UserService.findPrincipal 이 사용자명 기준으로 캐시하고 저장 시 제거
+ */
+public record UserPrincipal(Long userId,
+                            String username,
+                            String passwordHash,
+                            Integer passwordFingerprintVersion,
+                            String department,
+                            boolean enabled,
+                            boolean locked,
+                            List<String> roles) {
+
+    /**
+     * roles 가 로딩된 엔티티에서 생성 (UserRepository.findWithRolesByUsername)
+     */
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(
+                user.getUserId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getPasswordFingerprint() != null ? user.getPasswordFingerprintVersion() : null,
+                user.getDepartment(),
+                !Boolean.FALSE.equals(user.getIsEnabled()),
+                Boolean.TRUE.equals(user.getIsLocked()),
+                user.getRoles().stream().map(UserRole::getRoleName).sorted().toList()
+        );
+    }
+}
@@ -19,6 +19,7 @@ public class BookDataLoaderService implements CommandLineRunner {
 
     private final BookRepository bookRepository;
     private final ExternalBookService externalBookService;
+    private final BookSearchIndex bookSearchIndex;
 
     // 초기 로딩할 검색어 목록 (다양한 분야의 인기 도서)
     private static final String[] SEED_KEYWORDS = {
@@ -30,9 +31,11 @@ public class BookDataLoaderService implements CommandLineRunner {
     };
 
     public BookDataLoaderService(BookRepository bookRepository,
-                                  ExternalBookService externalBookService) {
+                                  ExternalBookService externalBookService,
+                                  BookSearchIndex bookSearchIndex) {
         this.bookRepository = bookRepository;
         this.externalBookService = externalBookService;
+        this.bookSearchIndex = bookSearchIndex;
     }
 
     @Override
@@ -90,7 +93,7 @@ public class BookDataLoaderService implements CommandLineRunner {
 
                         // 메모리 관리: 50권마다 배치 저장
                         if (booksToSave.size() >= 50) {
-                            bookRepository.saveAll(booksToSave);
+                            bookSearchIndex.addAll(bookRepository.saveAll(booksToSave));
                             log.info("{}권 저장 완료 (누적: {}권)", booksToSave.size(), totalFetched);
                             booksToSave.clear();
                         }
@@ -113,7 +116,7 @@ public class BookDataLoaderService implements CommandLineRunner {
 
         // 남은 도서 저장
         if (!booksToSave.isEmpty()) {
-            bookRepository.saveAll(booksToSave);
+            bookSearchIndex.addAll(bookRepository.saveAll(booksToSave));
             log.info("최종 {}권 저장 완료", booksToSave.size());
         }
 
@@ -1,36 +1,106 @@
 package yju.danawa.com.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import yju.danawa.com.dto.BookPriceDto;
+import yju.danawa.com.util.IsbnLinks;
+
+import jakarta.annotation.PreDestroy;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 @Service
 public class BookPriceService {
 
     private static final Logger log = LoggerFactory.getLogger(BookPriceService.class);
     private static final int TIMEOUT_SECONDS = 10;
+    // 서점별 대기 한도 (Jsoup 타임아웃 + 여유), 초과 시 요청 스레드를 인터럽트해 연결을 끊음
+    private static final int STORE_DEADLINE_SECONDS = 12;
     private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    // 요청마다 가상 스레드 하나 (블로킹 Jsoup 호출이 플랫폼 스레드를 점유하지 않음)
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+    // 서점별 동시 요청 수 제한
+    private final Map<String, Semaphore> storePermits = new ConcurrentHashMap<>();
+    private final int maxConcurrentPerStore;
     private final WebClient webClient;
 
-    public BookPriceService(WebClient.Builder webClientBuilder) {
+    // 서점 코드 → 크롤러 (응답 순서도 이 순서)
+    private final Map<String, Function<String, BookPriceDto>> fetchers = new LinkedHashMap<>();
+
+    // ISBN-13:서점 단위 가격 캐시 (fresh 기간이 지나도 stale 기간 동안은 즉시 반환하고 백그라운드 갱신)
+    private final Cache<String, CachedPrice> priceCache;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Duration freshTtl;
+    private final Duration staleTtl;
+    private final Duration negativeTtl;
+
+    public BookPriceService(WebClient.Builder webClientBuilder,
+                            @Value("${app.prices.max-concurrent-per-store:8}") int maxConcurrentPerStore,
+                            @Value("${app.prices.cache.fresh-minutes:60}") long freshMinutes,
+                            @Value("${app.prices.cache.stale-minutes:1440}") long staleMinutes,
+                            @Value("${app.prices.cache.negative-minutes:10}") long negativeMinutes,
+                            @Value("${app.prices.cache.maximum-size:10000}") long maximumSize) {
         this.webClient = webClientBuilder.build();
+        this.maxConcurrentPerStore = Math.max(1, maxConcurrentPerStore);
+        this.freshTtl = Duration.ofMinutes(freshMinutes);
+        this.staleTtl = Duration.ofMinutes(Math.max(freshMinutes, staleMinutes));
+        this.negativeTtl = Duration.ofMinutes(negativeMinutes);
+        this.priceCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, CachedPrice>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedPrice value, long currentTime) {
+                        return value.expireAfterNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedPrice value, long currentTime, long currentDuration) {
+                        return value.expireAfterNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedPrice value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        fetchers.put("yes24", this::fetchYes24Price);
+        fetchers.put("aladin", this::fetchAladinPrice);
+        fetchers.put("kyobo", this::fetchKyoboPrice);
+        fetchers.put("interpark", this::fetchInterparkPrice);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+        log.info("가격 조회 executor 종료");
     }
 
     /**
@@ -50,30 +120,46 @@ public class BookPriceService {
             return prices;
         }
 
-        // 병렬로 각 서점에서 가격 조회
-        List<CompletableFuture<BookPriceDto>> futures = new ArrayList<>();
-
-        futures.add(CompletableFuture.supplyAsync(() -> fetchYes24Price(searchKey), executorService));
-        futures.add(CompletableFuture.supplyAsync(() -> fetchAladinPrice(searchKey), executorService));
-        futures.add(CompletableFuture.supplyAsync(() -> fetchKyoboPrice(searchKey), executorService));
-        futures.add(CompletableFuture.supplyAsync(() -> fetchInterparkPrice(searchKey), executorService));
+        String cacheKey = priceCacheKey(isbn, title);
+        Map<String, BookPriceDto> results = new LinkedHashMap<>();
+        Map<String, Future<BookPriceDto>> futures = new LinkedHashMap<>();
 
-        // 모든 결과 수집 (최대 15초 대기)
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-            .orTimeout(15, TimeUnit.SECONDS)
-            .exceptionally(ex -> {
-                log.warn("일부 가격 조회 시간 초과: {}", ex.getMessage());
-                return null;
-            })
-            .join();
+        // 캐시에 있으면 바로 사용 (stale이면 백그라운드 갱신), 없는 서점만 병렬 조회
+        for (String store : fetchers.keySet()) {
+            String key = cacheKey + ":" + store;
+            CachedPrice cached = priceCache.getIfPresent(key);
+            if (cached != null) {
+                results.put(store, cached.price());
+                if (!cached.isFresh()) {
+                    refreshInBackground(store, key, searchKey);
+                }
+            } else {
+                futures.put(store, submit(store, () -> fetchAndCache(store, key, searchKey)));
+            }
+        }
 
-        for (CompletableFuture<BookPriceDto> future : futures) {
+        // 모든 서점이 같은 시점에 시작하므로 하나의 마감 시각으로 서점별 한도를 적용
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(STORE_DEADLINE_SECONDS);
+        for (Map.Entry<String, Future<BookPriceDto>> entry : futures.entrySet()) {
+            Future<BookPriceDto> future = entry.getValue();
             try {
-                if (future.isDone() && !future.isCompletedExceptionally()) {
-                    prices.add(future.get());
-                }
-            } catch (Exception e) {
-                log.warn("가격 정보 수집 중 오류: {}", e.getMessage());
+                results.put(entry.getKey(), future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("{} 가격 조회 시간 초과", entry.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(f -> f.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                log.warn("{} 가격 정보 수집 중 오류: {}", entry.getKey(), e.getCause().getMessage());
+            }
+        }
+
+        for (String store : fetchers.keySet()) {
+            BookPriceDto price = results.get(store);
+            if (price != null) {
+                prices.add(price);
             }
         }
 
@@ -81,6 +167,86 @@ public class BookPriceService {
         return prices;
     }
 
+    /**
+     * 서점별 동시 요청 수 제한을 걸어 가상 스레드에서 실행
+     */
+    private Future<BookPriceDto> submit(String store, Callable<BookPriceDto> fetch) {
+        Semaphore permits = permitsFor(store);
+        return executorService.submit(() -> {
+            if (!permits.tryAcquire(STORE_DEADLINE_SECONDS, TimeUnit.SECONDS)) {
+                throw new TimeoutException(store + " 동시 요청 한도 초과");
+            }
+            try {
+                return fetch.call();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * stale 항목 백그라운드 갱신 (같은 키는 한 번만)
+     */
+    private void refreshInBackground(String store, String key, String query) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        Semaphore permits = permitsFor(store);
+        executorService.execute(() -> {
+            try {
+                if (permits.tryAcquire(STORE_DEADLINE_SECONDS, TimeUnit.SECONDS)) {
+                    try {
+                        fetchAndCache(store, key, query);
+                    } finally {
+                        permits.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    private Semaphore permitsFor(String store) {
+        return storePermits.computeIfAbsent(store, key -> new Semaphore(maxConcurrentPerStore));
+    }
+
+    /**
+     * 조회 후 캐시 반영
+     * - 가격을 찾으면 fresh/stale 기간으로 저장
+     * - 못 찾으면 짧게 negative 캐시, 단 아직 쓸 수 있는 가격 항목(stale 포함)이 있으면 그대로 둠
+     *   (백그라운드 갱신 중 서점 장애/시간 초과로 좋은 가격이 "가격 없음"으로 덮이지 않도록)
+     * - 마감 시각 초과로 취소(인터럽트)된 조회는 실제 결과가 아니므로 캐시하지 않음
+     */
+    private BookPriceDto fetchAndCache(String store, String key, String query) {
+        BookPriceDto price = fetchers.get(store).apply(query);
+        long now = System.nanoTime();
+        if (price.available()) {
+            priceCache.put(key, new CachedPrice(price, now + freshTtl.toNanos(), now + staleTtl.toNanos()));
+        } else if (!Thread.currentThread().isInterrupted()) {
+            CachedPrice negative = new CachedPrice(price, now + negativeTtl.toNanos(), now + negativeTtl.toNanos());
+            priceCache.asMap().compute(key, (k, existing) ->
+                    existing != null && existing.price().available() ? existing : negative);
+        }
+        return price;
+    }
+
+    /**
+     * 캐시 키: ISBN-13 (ISBN-10은 변환), ISBN이 없으면 제목
+     */
+    private String priceCacheKey(String isbn, String title) {
+        String isbn13 = IsbnLinks.toIsbn13(isbn);
+        if (isbn13 != null) {
+            return isbn13;
+        }
+        if (isbn != null && !isbn.isBlank()) {
+            return "isbn:" + IsbnLinks.normalizeIsbn(isbn);
+        }
+        return "title:" + title.trim().toLowerCase(Locale.ROOT);
+    }
+
     private BookPriceDto fetchYes24Price(String query) {
         String url = buildYes24Url(query);
         try {
@@ -196,5 +362,15 @@ public class BookPriceService {
     private String buildInterparkUrl(String query) {
         return "https://book.interpark.com/search?query=" + query;
     }
-}
 
+    private record CachedPrice(BookPriceDto price, long freshUntilNanos, long expiresAtNanos) {
+
+        boolean isFresh() {
+            return System.nanoTime() - freshUntilNanos < 0;
+        }
+
+        long expireAfterNanos() {
+            return Math.max(0, expiresAtNanos - System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package yju.danawa.com.service;
+
+import yju.danawa.com.domain.Book;
+import yju.danawa.com.dto.BookDto;
+import yju.danawa.com.repository.BookRepository;
+import yju.danawa.com.util.HangulJamo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 도서 목록 인메모리 역색인
+ * 공백 기준 단어별 문자 bigram 으로 색인하고, 후보를 교집합으로 좁힌 뒤
+ * 원문 부분 문자열 검사로 확정 (BookRepository.searchByKeyword 와 같은 결과)
+ * 제목/저자는 자모 키와 초성 키도 따로 색인 (searchHangul: "ㅈㅂㅇㅈㅅ", "자바의 저" 입력 대응)
+ */
+@Service
+public class BookSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    // 교체된(삭제 표시된) 문서가 이 수 이상이면서 전체의 이 비율을 넘으면 addAll 끝에 메모리 안에서 압축
+    static final int COMPACT_MIN_DELETED = 1_000;
+    private static final double COMPACT_DELETED_RATIO = 0.25;
+
+    private final BookRepository bookRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<String, Integer> docIdByIsbn = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Postings> jamoPostings = new HashMap<>();
+    private final Map<String, Postings> choseongPostings = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    // 재생성 중 addAll 로 들어온 도서 (DB 스냅샷 이후 변경분이라 새 색인에 다시 반영, 재생성 중이 아니면 null)
+    private List<Book> addedDuringRebuild;
+    private volatile boolean ready;
+
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * 기동 완료 후(BookDataLoaderService 실행 이후) DB 전체로 색인 생성
+     * DB 조회는 잠금 밖에서 하고(그동안 검색 가능), 조회 중 addAll 된 도서는 교체 직후 다시 반영
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            addedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Book> books;
+        try {
+            books = bookRepository.findAll();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                addedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            docIdByIsbn.clear();
+            postings.clear();
+            jamoPostings.clear();
+            choseongPostings.clear();
+            deleted.clear();
+            for (Book book : books) {
+                addInternal(book);
+            }
+            replayed = addedDuringRebuild.size();
+            for (Book book : addedDuringRebuild) {
+                addInternal(book);
+            }
+            addedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("도서 색인 생성 완료: {}권 (재생성 중 추가 {}건 반영), 토큰 {}개", books.size(), replayed, postings.size());
+    }
+
+    /**
+     * 저장된 도서를 색인에 반영 (같은 ISBN은 교체)
+     */
+    @CacheEvict(cacheNames = {"books", "bookCounts"}, allEntries = true)
+    public void addAll(Collection<Book> books) {
+        lock.writeLock().lock();
+        try {
+            for (Book book : books) {
+                addInternal(book);
+            }
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.addAll(books);
+            }
+            int deletedCount = deleted.cardinality();
+            if (deletedCount >= COMPACT_MIN_DELETED && deletedCount > docs.size() * COMPACT_DELETED_RATIO) {
+                compactInternal();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 삭제 표시 포함 문서 수 (압축 확인용)
+     */
+    int docCount() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 키워드 검색 - 점수 내림차순, ISBN 오름차순
+     */
+    public List<Hit> search(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return List.of();
+        }
+        String query = keyword.trim().toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(query, postings);
+            List<Hit> hits = new ArrayList<>();
+            if (candidates == null) {
+                for (int id = 0; id < docs.size(); id++) {
+                    collect(id, query, hits);
+                }
+            } else {
+                for (int id : candidates) {
+                    collect(id, query, hits);
+                }
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(hit -> hit.book().isbn()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 키워드 검색 + 한글 자모/초성 일치 (점수는 둘 중 큰 값)
+     * 자음만 입력하면 초성 키, 그 외에는 자모 키로 제목/저자를 비교
+     */
+    public List<Hit> searchHangul(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return List.of();
+        }
+        String query = keyword.trim().toLowerCase(Locale.ROOT);
+        boolean choseong = HangulJamo.isChoseongOnly(query);
+        String key = choseong ? HangulJamo.choseong(query) : HangulJamo.decompose(query);
+
+        lock.readLock().lock();
+        try {
+            int[] plain = candidates(query, postings);
+            int[] hangul = candidates(key, choseong ? choseongPostings : jamoPostings);
+            List<Hit> hits = new ArrayList<>();
+            if (plain == null || hangul == null) {
+                for (int id = 0; id < docs.size(); id++) {
+                    collectHangul(id, query, key, choseong, hits);
+                }
+            } else {
+                for (int id : union(plain, hangul)) {
+                    collectHangul(id, query, key, choseong, hits);
+                }
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(hit -> hit.book().isbn()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collectHangul(int id, String query, String key, boolean choseong, List<Hit> hits) {
+        if (deleted.get(id)) {
+            return;
+        }
+        Doc doc = docs.get(id);
+        double score = Math.max(doc.score(query), doc.hangulScore(key, choseong));
+        if (score > 0) {
+            hits.add(new Hit(doc.book(), score));
+        }
+    }
+
+    private void collect(int id, String query, List<Hit> hits) {
+        if (deleted.get(id)) {
+            return;
+        }
+        Doc doc = docs.get(id);
+        double score = doc.score(query);
+        if (score > 0) {
+            hits.add(new Hit(doc.book(), score));
+        }
+    }
+
+    /**
+     * 질의 토큰별 posting 교집합 (토큰이 없으면 null = 전체 후보)
+     */
+    private static int[] candidates(String query, Map<String, Postings> postings) {
+        int[] result = null;
+        for (String token : tokenize(query)) {
+            if (token.length() < 2) {
+                continue;
+            }
+            Postings list = postings.get(token);
+            if (list == null) {
+                return new int[0];
+            }
+            result = result == null ? list.toArray() : intersect(result, list.ids, list.size);
+            if (result.length == 0) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    private void addInternal(Book book) {
+        if (book.getIsbn() == null) {
+            return;
+        }
+        Integer previous = docIdByIsbn.get(book.getIsbn());
+        if (previous != null) {
+            deleted.set(previous);
+        }
+        indexDoc(book.getIsbn(), Doc.of(book));
+    }
+
+    /**
+     * 교체되어 삭제 표시된 문서를 빼고 남은 문서로 색인을 다시 구성 (DB 조회 없음, 쓰기 잠금 안에서 호출)
+     * 문서 id 를 0부터 다시 매기므로 postings 도 처음부터 다시 만듦
+     */
+    private void compactInternal() {
+        int before = docs.size();
+        List<Doc> live = new ArrayList<>(before - deleted.cardinality());
+        for (int id = 0; id < before; id++) {
+            if (!deleted.get(id)) {
+                live.add(docs.get(id));
+            }
+        }
+        docs.clear();
+        docIdByIsbn.clear();
+        postings.clear();
+        jamoPostings.clear();
+        choseongPostings.clear();
+        deleted.clear();
+        for (Doc doc : live) {
+            indexDoc(doc.book().isbn(), doc);
+        }
+        log.info("도서 색인 압축: 문서 {} → {}", before, docs.size());
+    }
+
+    private void indexDoc(String isbn, Doc doc) {
+        int id = docs.size();
+        docs.add(doc);
+        docIdByIsbn.put(isbn, id);
+        for (String token : doc.tokens()) {
+            postings.computeIfAbsent(token, key -> new Postings()).add(id);
+        }
+        for (String token : doc.jamoTokens()) {
+            jamoPostings.computeIfAbsent(token, key -> new Postings()).add(id);
+        }
+        for (String token : doc.choseongTokens()) {
+            choseongPostings.computeIfAbsent(token, key -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * 공백으로 단어를 나눈 뒤 각 단어의 문자 bigram (한 글자 단어는 그대로)
+     * 한글 제목은 형태소 분석 없이 bigram으로 부분 일치를 찾는다 (예: "자바의정석" → 자바, 바의, 의정, 정석)
+     * 단어 전체를 토큰으로 쓰지 않는 이유: 질의가 단어의 일부("8966260959")여도 후보에서 빠지면 안 됨
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (word.length() == 1) {
+                tokens.add(word);
+            }
+            for (int i = 0; i + 2 <= word.length(); i++) {
+                tokens.add(word.substring(i, i + 2));
+            }
+        }
+        return tokens;
+    }
+
+    static int[] intersect(int[] a, int[] b, int bSize) {
+        int[] out = new int[Math.min(a.length, bSize)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < bSize) {
+            if (a[i] == b[j]) {
+                out[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    static int[] union(int[] a, int[] b) {
+        int[] out = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                out[n++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    public record Hit(BookDto book, double score) {}
+
+    /**
+     * 정렬된 문서 ID 목록 (ID는 추가 순서대로 증가하므로 append만으로 정렬 유지)
+     */
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    private record Doc(BookDto book, String isbn, String title, String author, String publisher,
+                       String titleJamo, String authorJamo, String titleChoseong, String authorChoseong) {
+
+        static Doc of(Book book) {
+            BookDto dto = new BookDto(
+                    book.getIsbn(),
+                    book.getTitle(),
+                    book.getAuthor(),
+                    book.getPublisher(),
+                    book.getImageUrl(),
+                    book.getPublishedDate(),
+                    book.getPrice()
+            );
+            return new Doc(dto, lower(book.getIsbn()), lower(book.getTitle()),
+                    lower(book.getAuthor()), lower(book.getPublisher()),
+                    HangulJamo.decompose(book.getTitle()), HangulJamo.decompose(book.getAuthor()),
+                    HangulJamo.choseong(book.getTitle()), HangulJamo.choseong(book.getAuthor()));
+        }
+
+        Set<String> tokens() {
+            Set<String> tokens = tokenize(isbn);
+            tokens.addAll(tokenize(title));
+            tokens.addAll(tokenize(author));
+            tokens.addAll(tokenize(publisher));
+            return tokens;
+        }
+
+        Set<String> jamoTokens() {
+            Set<String> tokens = tokenize(titleJamo);
+            tokens.addAll(tokenize(authorJamo));
+            return tokens;
+        }
+
+        Set<String> choseongTokens() {
+            Set<String> tokens = tokenize(titleChoseong);
+            tokens.addAll(tokenize(authorChoseong));
+            return tokens;
+        }
+
+        /**
+         * 제목 일치 > 저자 > 출판사/ISBN 순 가중치, 일치하지 않으면 0
+         */
+        double score(String query) {
+            double score = 0;
+            if (title.contains(query)) {
+                score += title.equals(query) ? 10 : title.startsWith(query) ? 5 : 3;
+            }
+            if (author.contains(query)) {
+                score += 2;
+            }
+            if (publisher.contains(query)) {
+                score += 1;
+            }
+            if (isbn.contains(query)) {
+                score += 1;
+            }
+            return score;
+        }
+
+        /**
+         * 자모/초성 키 일치 점수 (같은 위치의 원문 일치보다 낮게)
+         */
+        double hangulScore(String key, boolean choseong) {
+            String titleKey = choseong ? titleChoseong : titleJamo;
+            String authorKey = choseong ? authorChoseong : authorJamo;
+            double score = 0;
+            if (titleKey.contains(key)) {
+                score += titleKey.startsWith(key) ? 4 : 2;
+            }
+            if (authorKey.contains(key)) {
+                score += 1;
+            }
+            return score;
+        }
+
+        private static String lower(String value) {
+            return value == null ? "" : value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
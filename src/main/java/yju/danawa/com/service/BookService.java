@@ -1,41 +1,183 @@
 package yju.danawa.com.service;
 
-import yju.danawa.com.domain.Book;
 import yju.danawa.com.dto.BookDto;
+import yju.danawa.com.dto.BookSearchPageDto;
 import yju.danawa.com.repository.BookRepository;
+import yju.danawa.com.repository.BookRepository.RankedBook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
 public class BookService {
 
+    private static final Logger log = LoggerFactory.getLogger(BookService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final Cache countCache;
+    private final String searchMode;
 
-    public BookService(BookRepository bookRepository) {
+    public BookService(BookRepository bookRepository,
+                       BookSearchIndex bookSearchIndex,
+                       CacheManager cacheManager,
+                       @Value("${app.search.mode:trigram}") String searchMode) {
         this.bookRepository = bookRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.countCache = cacheManager.getCache("bookCounts");
+        this.searchMode = searchMode == null ? "trigram" : searchMode.toLowerCase(Locale.ROOT);
     }
 
-    @Cacheable(cacheNames = "books", key = "#keyword")
-    public List<BookDto> search(String keyword) {
+    /**
+     * 키워드 검색 (페이지 단위)
+     * after 커서("rank,isbn")가 있으면 keyset 방식으로 이어서 조회하고 page는 무시
+     */
+    @Cacheable(cacheNames = "books", key = "#keyword + '::' + #page + '::' + #size + '::' + #after")
+    public BookSearchPageDto search(String keyword, int page, int size, String after) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageIndex = Math.max(0, page);
         if (keyword == null || keyword.trim().isEmpty()) {
-            return Collections.emptyList();
+            return new BookSearchPageDto(Collections.emptyList(), 0, pageIndex, pageSize, null);
         }
         String normalized = keyword.trim();
-        List<Book> books = bookRepository.searchByKeyword(normalized);
-        return books.stream()
-                .map(book -> new BookDto(
-                        book.getIsbn(),
-                        book.getTitle(),
-                        book.getAuthor(),
-                        book.getPublisher(),
-                        book.getImageUrl(),
-                        book.getPublishedDate(),
-                        book.getPrice()
+
+        // 인메모리 색인이 준비되어 있으면 DB를 거치지 않고 응답 (jamo: 초성/입력 중인 글자도 일치)
+        if (("memory".equals(searchMode) || "jamo".equals(searchMode)) && bookSearchIndex.isReady()) {
+            return searchInMemory(normalized, pageIndex, pageSize, after);
+        }
+
+        List<RankedBook> rows;
+        if (after != null && !after.isBlank()) {
+            Cursor cursor = Cursor.parse(after);
+            rows = findAfter(normalized, cursor, pageSize);
+        } else {
+            rows = findPage(normalized, pageSize, (long) pageIndex * pageSize);
+        }
+
+        List<BookDto> items = rows.stream()
+                .map(row -> new BookDto(
+                        row.getIsbn(),
+                        row.getTitle(),
+                        row.getAuthor(),
+                        row.getPublisher(),
+                        row.getImageUrl(),
+                        row.getPublishedDate(),
+                        row.getPrice()
                 ))
                 .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (rows.size() == pageSize) {
+            RankedBook last = rows.get(rows.size() - 1);
+            nextCursor = new Cursor(last.getRank() == null ? 0 : last.getRank(), last.getIsbn()).format();
+        }
+
+        return new BookSearchPageDto(items, count(normalized), pageIndex, pageSize, nextCursor);
+    }
+
+    private BookSearchPageDto searchInMemory(String keyword, int pageIndex, int pageSize, String after) {
+        List<BookSearchIndex.Hit> hits = "jamo".equals(searchMode)
+                ? bookSearchIndex.searchHangul(keyword)
+                : bookSearchIndex.search(keyword);
+
+        int from;
+        if (after != null && !after.isBlank()) {
+            Cursor cursor = Cursor.parse(after);
+            from = 0;
+            while (from < hits.size() && !cursor.isBefore(hits.get(from))) {
+                from++;
+            }
+        } else {
+            from = (int) Math.min((long) pageIndex * pageSize, hits.size());
+        }
+        int to = Math.min(from + pageSize, hits.size());
+
+        List<BookSearchIndex.Hit> pageHits = hits.subList(from, to);
+        List<BookDto> items = pageHits.stream()
+                .map(BookSearchIndex.Hit::book)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (pageHits.size() == pageSize && to < hits.size()) {
+            BookSearchIndex.Hit last = pageHits.get(pageHits.size() - 1);
+            nextCursor = new Cursor(last.score(), last.book().isbn()).format();
+        }
+        return new BookSearchPageDto(items, hits.size(), pageIndex, pageSize, nextCursor);
+    }
+
+    /**
+     * 검색 결과 총 건수 (페이지와 무관하게 키워드별로 캐시)
+     */
+    private long count(String keyword) {
+        Long total = countCache.get(keyword, () -> bookRepository.countByKeyword(keyword));
+        return total == null ? 0 : total;
+    }
+
+    private List<RankedBook> findPage(String keyword, int limit, long offset) {
+        if ("like".equals(searchMode)) {
+            return bookRepository.searchByKeywordPage(keyword, limit, offset);
+        }
+        try {
+            return bookRepository.searchByTrigramPage(keyword, limit, offset);
+        } catch (DataAccessException e) {
+            // pg_trgm 확장이 없는 DB에서는 기존 ILIKE 검색으로 폴백
+            log.warn("trigram 검색 실패, ILIKE 검색으로 대체: {}", e.getMessage());
+            return bookRepository.searchByKeywordPage(keyword, limit, offset);
+        }
+    }
+
+    private List<RankedBook> findAfter(String keyword, Cursor cursor, int limit) {
+        if ("like".equals(searchMode)) {
+            return bookRepository.searchByKeywordAfter(keyword, cursor.isbn(), limit);
+        }
+        try {
+            return bookRepository.searchByTrigramAfter(keyword, cursor.rank(), cursor.isbn(), limit);
+        } catch (DataAccessException e) {
+            log.warn("trigram 검색 실패, ILIKE 검색으로 대체: {}", e.getMessage());
+            return bookRepository.searchByKeywordAfter(keyword, cursor.isbn(), limit);
+        }
+    }
+
+    /**
+     * keyset 커서 ("rank,isbn")
+     */
+    record Cursor(double rank, String isbn) {
+
+        static Cursor parse(String raw) {
+            int comma = raw.indexOf(',');
+            if (comma <= 0 || comma == raw.length() - 1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + raw);
+            }
+            try {
+                return new Cursor(Double.parseDouble(raw.substring(0, comma)), raw.substring(comma + 1));
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + raw);
+            }
+        }
+
+        String format() {
+            return rank + "," + isbn;
+        }
+
+        /**
+         * 정렬 순서(rank 내림차순, isbn 오름차순)상 hit 이 커서 뒤에 오는지
+         */
+        boolean isBefore(BookSearchIndex.Hit hit) {
+            return hit.score() < rank || (hit.score() == rank && hit.book().isbn().compareTo(isbn) > 0);
+        }
     }
 }
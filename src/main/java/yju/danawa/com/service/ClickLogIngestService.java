@@ -0,0 +1,137 @@
+package yju.danawa.com.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import yju.danawa.com.domain.ClickLog;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클릭 로그 write-behind 적재
+ * 요청 스레드는 큐에 넣기만 하고, 전용 스레드가 모아서 batch INSERT
+ * 큐가 가득 차면 offer 가 false 를 반환 (호출 측에서 429 응답)
+ */
+@Service
+public class ClickLogIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClickLogIngestService.class);
+
+    private static final String INSERT_SQL =
+            "insert into click_logs (click_id, isbn, target_channel, slider_value, created_at) values (?, ?, ?, ?, ?)";
+    // ClickLog 엔티티와 같은 시퀀스에서 ID 구간을 받아옴 (값 하나 = ID_ALLOCATION_SIZE 개, pooled-lo)
+    private static final String NEXT_ID_BLOCKS_SQL = "select nextval('click_logs_seq') from generate_series(1, ?)";
+    // 종료 시 남은 로그를 쓰기 위해 기다리는 최대 시간
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<ClickLog> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ClickLogIngestService(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.logs.click.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${app.logs.click.batch-size:500}") int batchSize,
+                                 @Value("${app.logs.click.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.writer = Thread.ofPlatform()
+                .name("click-log-writer")
+                .daemon(true)
+                .unstarted(this::drainLoop);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * 종료 시 새 로그는 거절하고 큐에 남은 로그를 모두 기록
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.warn("클릭 로그 writer 종료 대기 시간 초과, 미기록 {}건", queue.size());
+        } else {
+            log.info("클릭 로그 writer 종료");
+        }
+    }
+
+    /**
+     * 큐에 추가 (가득 찼거나 종료 중이면 false)
+     */
+    public boolean offer(ClickLog click) {
+        return running && queue.offer(click);
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<ClickLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ClickLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ClickLog> batch) {
+        try {
+            assignIds(batch);
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, click) -> {
+                ps.setLong(1, click.getClickId());
+                ps.setString(2, click.getIsbn());
+                ps.setString(3, click.getTargetChannel());
+                ps.setObject(4, click.getSliderValue());
+                ps.setTimestamp(5, Timestamp.valueOf(click.getCreatedAt()));
+            });
+            log.debug("클릭 로그 {}건 기록", batch.size());
+        } catch (DataAccessException e) {
+            log.error("클릭 로그 {}건 기록 실패: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void assignIds(List<ClickLog> batch) {
+        int blockSize = ClickLog.ID_ALLOCATION_SIZE;
+        int blocks = (batch.size() + blockSize - 1) / blockSize;
+        List<Long> lows = jdbcTemplate.queryForList(NEXT_ID_BLOCKS_SQL, Long.class, blocks);
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).setClickId(lows.get(i / blockSize) + i % blockSize);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package yju.danawa.com.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import yju.danawa.com.repository.ClickLogRepositoryCustomImpl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * 클릭 로그 시간/일 단위 롤업 갱신
+ * watermark(정시) 이후 완결된 시간 버킷의 원본 행만 집계해 롤업 테이블에 더함
+ * 여러 인스턴스가 동시에 실행해도 watermark 행 잠금으로 한 번만 반영
+ */
+@Service
+public class ClickLogRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClickLogRollupService.class);
+
+    private static final String LOCK_WATERMARK_SQL =
+            "select watermark from rollup_watermarks where name = ? for update";
+    private static final String INSERT_WATERMARK_SQL =
+            "insert into rollup_watermarks (name, watermark) values (?, null) on conflict (name) do nothing";
+    private static final String UPDATE_WATERMARK_SQL =
+            "update rollup_watermarks set watermark = ? where name = ?";
+    private static final String FIRST_CLICK_SQL = "select min(created_at) from click_logs";
+
+    // granularity 별로 두 번 실행 ('hour', 'day')
+    private static final String ROLLUP_CHANNEL_SQL =
+            "insert into click_rollups_channel (granularity, bucket_start, target_channel, slider_sum, slider_count, clicks) " +
+            "select ?, date_trunc(?, created_at), coalesce(target_channel, ''), " +
+            "coalesce(sum(slider_value), 0), count(slider_value), count(*) " +
+            "from click_logs where created_at >= ? and created_at < ? " +
+            "group by 2, 3 " +
+            "on conflict (granularity, bucket_start, target_channel) do update set " +
+            "slider_sum = click_rollups_channel.slider_sum + excluded.slider_sum, " +
+            "slider_count = click_rollups_channel.slider_count + excluded.slider_count, " +
+            "clicks = click_rollups_channel.clicks + excluded.clicks";
+
+    private static final String ROLLUP_ISBN_SQL =
+            "insert into click_rollups_isbn (granularity, bucket_start, isbn, clicks) " +
+            "select ?, date_trunc(?, created_at), coalesce(isbn, ''), count(*) " +
+            "from click_logs where created_at >= ? and created_at < ? " +
+            "group by 2, 3 " +
+            "on conflict (granularity, bucket_start, isbn) do update set " +
+            "clicks = click_rollups_isbn.clicks + excluded.clicks";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long lagMinutes;
+    private final long maxHoursPerRun;
+
+    public ClickLogRollupService(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.logs.rollup.lag-minutes:5}") long lagMinutes,
+                                 @Value("${app.logs.rollup.max-hours-per-run:168}") long maxHoursPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lagMinutes = Math.max(0, lagMinutes);
+        this.maxHoursPerRun = Math.max(1, maxHoursPerRun);
+    }
+
+    /**
+     * 현재 시각 - lag 기준으로 완결된 시간 버킷까지 롤업
+     * (write-behind 큐에 남아 있던 클릭이 늦게 기록되는 것을 lag 로 흡수)
+     */
+    @Scheduled(fixedDelayString = "${app.logs.rollup.interval-ms:300000}",
+            initialDelayString = "${app.logs.rollup.initial-delay-ms:60000}")
+    @Transactional
+    public void rollUp() {
+        String name = ClickLogRepositoryCustomImpl.WATERMARK_NAME;
+        jdbcTemplate.update(INSERT_WATERMARK_SQL, name);
+        List<Timestamp> locked = jdbcTemplate.queryForList(LOCK_WATERMARK_SQL, Timestamp.class, name);
+
+        LocalDateTime from;
+        if (locked.isEmpty() || locked.get(0) == null) {
+            Timestamp first = jdbcTemplate.queryForObject(FIRST_CLICK_SQL, Timestamp.class);
+            if (first == null) {
+                return;
+            }
+            from = first.toLocalDateTime().truncatedTo(ChronoUnit.HOURS);
+        } else {
+            from = locked.get(0).toLocalDateTime();
+        }
+
+        LocalDateTime to = LocalDateTime.now().minusMinutes(lagMinutes).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime limit = from.plusHours(maxHoursPerRun);
+        if (to.isAfter(limit)) {
+            to = limit;
+        }
+        if (!to.isAfter(from)) {
+            return;
+        }
+
+        Timestamp start = Timestamp.valueOf(from);
+        Timestamp end = Timestamp.valueOf(to);
+        for (String granularity : new String[]{"hour", "day"}) {
+            jdbcTemplate.update(ROLLUP_CHANNEL_SQL, granularity, granularity, start, end);
+            jdbcTemplate.update(ROLLUP_ISBN_SQL, granularity, granularity, start, end);
+        }
+        jdbcTemplate.update(UPDATE_WATERMARK_SQL, end, name);
+        log.info("클릭 로그 롤업 완료: {} ~ {}", from, to);
+    }
+}
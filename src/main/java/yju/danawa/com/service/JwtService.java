@@ -1,6 +1,11 @@
 package yju.danawa.com.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,20 +13,36 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
 
 @Service
 public class JwtService {
 
+    // 최근 검증한 토큰 수 (요청마다 서명 검증을 반복하지 않도록)
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
     private final SecretKey key;
     private final long expirationMinutes;
+    // JwtParser 는 불변이라 한 번 만들어 여러 스레드에서 재사용
+    private final JwtParser parser;
+    // 토큰 SHA-256 → 검증 결과, 토큰 만료 시각에 함께 만료
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_TOKENS)
+            .expireAfter(new TokenExpiry())
+            .build();
 
     public JwtService(@Value("${app.jwt.secret}") String secret,
                       @Value("${app.jwt.expiration-minutes:60}") long expirationMinutes) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMinutes = expirationMinutes;
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     public String generateToken(String username) {
@@ -34,21 +55,70 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * 서명/만료 검증과 사용자명 추출을 한 번에 (유효하지 않으면 empty)
+     * 이미 검증한 토큰은 캐시에서 바로 반환
+     */
+    public Optional<VerifiedToken> validate(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String cacheKey = sha256(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(),
+                    expiration == null ? null : expiration.toInstant());
+            // 만료 시각이 없는 토큰은 캐시하지 않음 (매번 검증)
+            if (verified.expiresAt() != null) {
+                verifiedTokens.put(cacheKey, verified);
+            }
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
+        return parser.parseSignedClaims(token)
                 .getPayload()
                 .getSubject();
     }
 
     public boolean isTokenValid(String token) {
+        return validate(token).isPresent();
+    }
+
+    private static String sha256(String token) {
         try {
-            extractUsername(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    public record VerifiedToken(String username, Instant expiresAt) {}
+
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
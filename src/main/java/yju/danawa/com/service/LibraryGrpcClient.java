@@ -3,14 +3,21 @@ package yju.danawa.com.service;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import yju.danawa.com.grpc.*;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 /**
  * gRPC 클라이언트를 통한 도서관 검색 서비스
  */
@@ -22,8 +29,18 @@ public class LibraryGrpcClient {
     private static final String GRPC_HOST = "library-scraper";
     private static final int GRPC_PORT = 50051;
 
+    private final long deadlineMs;
+    private final long batchDeadlineMs;
+
     private ManagedChannel channel;
     private LibraryServiceGrpc.LibraryServiceBlockingStub blockingStub;
+    private LibraryServiceGrpc.LibraryServiceStub asyncStub;
+
+    public LibraryGrpcClient(@Value("${app.library.grpc.deadline-ms:45000}") long deadlineMs,
+                             @Value("${app.library.grpc.batch-deadline-ms:120000}") long batchDeadlineMs) {
+        this.deadlineMs = deadlineMs;
+        this.batchDeadlineMs = batchDeadlineMs;
+    }
 
     @PostConstruct
     public void init() {
@@ -34,6 +51,7 @@ public class LibraryGrpcClient {
                 .build();
 
         blockingStub = LibraryServiceGrpc.newBlockingStub(channel);
+        asyncStub = LibraryServiceGrpc.newStub(channel);
 
         log.info("gRPC 채널 생성: {}:{}", GRPC_HOST, GRPC_PORT);
     }
@@ -51,21 +69,14 @@ public class LibraryGrpcClient {
      */
     public LibraryResponse checkLibrary(String isbn, String title) {
         try {
-            LibraryRequest.Builder requestBuilder = LibraryRequest.newBuilder();
-
-            if (isbn != null && !isbn.isBlank()) {
-                requestBuilder.setIsbn(isbn);
-            }
-            if (title != null && !title.isBlank()) {
-                requestBuilder.setTitle(title);
-            }
-
-            LibraryRequest request = requestBuilder.build();
+            LibraryRequest request = buildRequest(isbn, title, null);
 
             log.info("gRPC 호출: isbn={}, title={}", isbn, title);
 
-            // gRPC 호출 (동기)
-            LibraryResponse response = blockingStub.checkLibrary(request);
+            // gRPC 호출 (동기, 호출마다 deadline 적용)
+            LibraryResponse response = blockingStub
+                    .withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                    .checkLibrary(request);
 
             log.info("gRPC 응답: found={}, available={}, location={}",
                     response.getFound(), response.getAvailable(), response.getLocation());
@@ -78,13 +89,91 @@ public class LibraryGrpcClient {
         }
     }
 
+    /**
+     * 여러 권 일괄 확인 (왕복 1회, 응답은 요청 순서대로)
+     */
+    public List<LibraryResponse> batchCheckLibrary(List<LibraryRequest> requests) {
+        try {
+            log.info("gRPC 일괄 호출: {}건", requests.size());
+            BatchLibraryResponse response = blockingStub
+                    .withDeadlineAfter(batchDeadlineMs, TimeUnit.MILLISECONDS)
+                    .batchCheckLibrary(BatchLibraryRequest.newBuilder().addAllRequests(requests).build());
+            if (response.getResponsesCount() != requests.size()) {
+                throw new IllegalStateException("gRPC 일괄 응답 건수 불일치: "
+                        + response.getResponsesCount() + "/" + requests.size());
+            }
+            return response.getResponsesList();
+        } catch (StatusRuntimeException e) {
+            log.error("gRPC 일괄 호출 실패: {}", e.getStatus());
+            throw new RuntimeException("gRPC 일괄 호출 실패", e);
+        }
+    }
+
+    /**
+     * 양방향 스트리밍 확인
+     * 결과가 완료되는 순서대로 onResponse 호출 (request_id로 요청과 매칭)
+     */
+    public CompletableFuture<Void> streamCheckLibrary(List<LibraryRequest> requests,
+                                                      Consumer<LibraryResponse> onResponse) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        StreamObserver<LibraryRequest> requestObserver = asyncStub
+                .withDeadlineAfter(batchDeadlineMs, TimeUnit.MILLISECONDS)
+                .streamCheckLibrary(new StreamObserver<>() {
+                    @Override
+                    public void onNext(LibraryResponse response) {
+                        onResponse.accept(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        log.error("gRPC 스트리밍 호출 실패: {}", t.getMessage());
+                        done.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        done.complete(null);
+                    }
+                });
+        try {
+            for (LibraryRequest request : requests) {
+                requestObserver.onNext(request);
+            }
+            requestObserver.onCompleted();
+        } catch (RuntimeException e) {
+            requestObserver.onError(e);
+            done.completeExceptionally(e);
+        }
+        return done;
+    }
+
+    /**
+     * 요청 메시지 생성 (빈 값은 설정하지 않음)
+     */
+    public static LibraryRequest buildRequest(String isbn, String title, String requestId) {
+        LibraryRequest.Builder requestBuilder = LibraryRequest.newBuilder();
+
+        if (isbn != null && !isbn.isBlank()) {
+            requestBuilder.setIsbn(isbn);
+        }
+        if (title != null && !title.isBlank()) {
+            requestBuilder.setTitle(title);
+        }
+        if (requestId != null) {
+            requestBuilder.setRequestId(requestId);
+        }
+        return requestBuilder.build();
+    }
+
     /**
      * 건강 체크
      */
     public HealthCheckResponse healthCheck() {
         try {
             HealthCheckRequest request = HealthCheckRequest.newBuilder().build();
-            return blockingStub.healthCheck(request);
+            return blockingStub
+                    .withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                    .healthCheck(request);
         } catch (StatusRuntimeException e) {
             log.error("gRPC 건강 체크 실패: {}", e.getStatus());
             throw new RuntimeException("gRPC 건강 체크 실패", e);
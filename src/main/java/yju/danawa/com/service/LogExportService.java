@@ -0,0 +1,208 @@
+package yju.danawa.com.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 클릭/검색 로그 기간별 내보내기
+ * 서버 측 커서(fetch size)로 읽은 행을 바로 출력 스트림에 써서 행 수와 무관하게 메모리 일정
+ */
+@Service
+public class LogExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(LogExportService.class);
+
+    // PostgreSQL 은 트랜잭션 안에서 fetch size 를 지정해야 커서로 나눠 읽음
+    private static final int FETCH_SIZE = 1000;
+
+    public enum Dataset {
+        CLICKS("click_logs",
+                "select click_id, isbn, target_channel, slider_value, created_at from click_logs " +
+                "where created_at >= ? and created_at < ? order by created_at"),
+        SEARCHES("search_logs",
+                "select log_id, keyword, user_dept, search_time from search_logs " +
+                "where search_time >= ? and search_time < ? order by search_time");
+
+        private final String fileName;
+        private final String sql;
+
+        Dataset(String fileName, String sql) {
+            this.fileName = fileName;
+            this.sql = sql;
+        }
+
+        public String fileName() {
+            return fileName;
+        }
+    }
+
+    public enum Format {
+        CSV("csv"),
+        NDJSON("ndjson");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LogExportService(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * [from, to) 구간의 로그를 out 에 기록 (gzip 이면 압축), 기록한 행 수 반환
+     */
+    public long export(Dataset dataset, Format format, LocalDateTime from, LocalDateTime to,
+                       boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+
+        Long rows = transactionTemplate.execute(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(dataset.sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            return ps;
+        }, (ResultSetExtractor<Long>) rs -> {
+            try {
+                return writeRows(rs, format, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+
+        writer.flush();
+        if (target instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+        log.info("로그 내보내기 완료: {} {} ~ {}, {}행", dataset.fileName(), from, to, rows);
+        return rows == null ? 0 : rows;
+    }
+
+    private long writeRows(ResultSet rs, Format format, Writer writer) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        String[] names = new String[columns];
+        for (int i = 0; i < columns; i++) {
+            names[i] = meta.getColumnLabel(i + 1);
+        }
+
+        if (format == Format.CSV) {
+            for (int i = 0; i < columns; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csv(names[i]));
+            }
+            writer.write('\n');
+        }
+
+        long count = 0;
+        while (rs.next()) {
+            if (format == Format.CSV) {
+                for (int i = 0; i < columns; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(csv(text(rs.getObject(i + 1))));
+                }
+            } else {
+                writer.write('{');
+                for (int i = 0; i < columns; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(json(names[i]));
+                    writer.write(':');
+                    Object value = rs.getObject(i + 1);
+                    writer.write(value instanceof Number ? value.toString() : json(text(value)));
+                }
+                writer.write('}');
+            }
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private static String text(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * RFC 4180 필드 (구분자/따옴표/줄바꿈이 있으면 따옴표로 감쌈, null 은 빈 칸)
+     */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * JSON 문자열 리터럴 (null 은 null)
+     */
+    static String json(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,270 @@
+package yju.danawa.com.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * click_logs / search_logs 월 단위 range 파티션 관리
+ * - Hibernate 가 만든 일반 테이블이면 같은 컬럼의 파티션 테이블로 변환 (기존 행 복사)
+ * - 앞으로 쓸 파티션을 미리 생성, 보관 기간이 지난 파티션은 분리(또는 삭제)
+ * - 테이블/월 단위 작업마다 별도 트랜잭션 (하나가 실패해도 나머지는 계속 진행)
+ * 엔티티는 그대로 두고 테이블 이름으로 접근하므로 JPA/JdbcTemplate 코드는 변경 없음
+ */
+@Service
+public class LogPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(LogPartitionService.class);
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final List<PartitionedTable> TABLES = List.of(
+            new PartitionedTable("click_logs", "click_id", "created_at", Map.of(
+                    "idx_clicklog_isbn", "isbn",
+                    "idx_clicklog_target_channel", "target_channel",
+                    "idx_clicklog_created_at", "created_at")),
+            new PartitionedTable("search_logs", "log_id", "search_time", Map.of(
+                    "idx_searchlog_user_dept", "user_dept",
+                    "idx_searchlog_search_time", "search_time"))
+    );
+
+    private static final String RELKIND_SQL =
+            "select c.relkind::text from pg_class c join pg_namespace n on n.oid = c.relnamespace " +
+            "where c.relname = ? and n.nspname = current_schema()";
+    private static final String PARTITIONS_SQL =
+            "select c.relname from pg_inherits i " +
+            "join pg_class c on c.oid = i.inhrelid " +
+            "join pg_class p on p.oid = i.inhparent " +
+            "join pg_namespace n on n.oid = p.relnamespace " +
+            "where p.relname = ? and n.nspname = current_schema()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final boolean dropExpired;
+
+    public LogPartitionService(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.logs.partitions.premake-months:3}") int premakeMonths,
+                               @Value("${app.logs.partitions.retention-months:24}") int retentionMonths,
+                               @Value("${app.logs.partitions.drop-expired:false}") boolean dropExpired) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.premakeMonths = Math.max(1, premakeMonths);
+        this.retentionMonths = retentionMonths;
+        this.dropExpired = dropExpired;
+    }
+
+    /**
+     * 기동 시 1회 + 매일 새벽 실행
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.logs.partitions.cron:0 10 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        for (PartitionedTable table : TABLES) {
+            String kind;
+            try {
+                kind = relkind(table.name());
+            } catch (DataAccessException e) {
+                log.warn("{} 파티션 상태 조회 실패: {}", table.name(), e.getMessage());
+                continue;
+            }
+            if (kind == null) {
+                continue;
+            }
+            // 변환에 실패하면 아직 일반 테이블이므로 이 테이블의 나머지 작업은 다음 실행으로 미룸
+            if ("r".equals(kind) && !inTransaction(table.name() + " 변환", () -> convert(table, current))) {
+                continue;
+            }
+            for (int i = 0; i <= premakeMonths; i++) {
+                YearMonth month = current.plusMonths(i);
+                inTransaction(partitionName(table, month) + " 생성", () -> createPartition(table, month));
+            }
+            if (retentionMonths > 0) {
+                expirePartitions(table, current.minusMonths(retentionMonths));
+            }
+        }
+    }
+
+    /**
+     * 작업 하나를 별도 트랜잭션으로 실행 (실패하면 롤백 후 로그만 남기고 false)
+     */
+    private boolean inTransaction(String task, Runnable work) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> work.run());
+            return true;
+        } catch (DataAccessException | TransactionException | IllegalStateException e) {
+            log.warn("로그 파티션 작업 실패 ({}): {}", task, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 일반 테이블 → 파티션 테이블
+     * 같은 이름으로 교체하므로 잠금 대기 중이던 INSERT 는 새 테이블로 들어감
+     * 파티션 키(시각)가 NULL 인 행은 파티션에 넣을 수 없으므로 {table}_legacy_nulls 에 옮겨 보관
+     * 옮긴 행 수가 원본과 다르면 예외로 트랜잭션 전체를 롤백 (legacy 는 건수가 맞을 때만 삭제)
+     */
+    private void convert(PartitionedTable table, YearMonth current) {
+        jdbcTemplate.execute("LOCK TABLE " + table.name() + " IN ACCESS EXCLUSIVE MODE");
+        // 다른 인스턴스가 먼저 변환했으면 생략
+        if (!"r".equals(relkind(table.name()))) {
+            return;
+        }
+
+        Long total = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table.name(), Long.class);
+        Long nullTimes = jdbcTemplate.queryForObject("SELECT count(*) FROM " + table.name() +
+                " WHERE " + table.timeColumn() + " IS NULL", Long.class);
+        String nullsTable = table.name() + "_legacy_nulls";
+        if (nullTimes != null && nullTimes > 0) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + nullsTable + " (LIKE " + table.name() + " INCLUDING DEFAULTS)");
+            int kept = jdbcTemplate.update("INSERT INTO " + nullsTable + " SELECT * FROM " + table.name() +
+                    " WHERE " + table.timeColumn() + " IS NULL");
+            if (kept != nullTimes) {
+                throw new IllegalStateException(table.name() + " NULL 시각 행 보관 건수 불일치: " + kept + "/" + nullTimes);
+            }
+            log.warn("{}: {} 가 NULL 인 {}행은 파티션에 넣을 수 없어 {} 에 보관", table.name(), table.timeColumn(),
+                    kept, nullsTable);
+        }
+
+        String legacy = table.name() + "_legacy";
+        jdbcTemplate.execute("ALTER TABLE " + table.name() + " RENAME TO " + legacy);
+        // 기존 PK/인덱스 이름을 새 테이블에서 쓰기 위해 먼저 제거 (legacy 는 복사 후 삭제)
+        jdbcTemplate.execute("ALTER TABLE " + legacy + " DROP CONSTRAINT IF EXISTS " + table.name() + "_pkey");
+        for (String index : table.indexes().keySet()) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + index);
+        }
+        // 파티션 키는 PK 에 포함되어야 하므로 (id, 시각) 복합 PK
+        jdbcTemplate.execute("CREATE TABLE " + table.name() + " (LIKE " + legacy + " INCLUDING DEFAULTS) " +
+                "PARTITION BY RANGE (" + table.timeColumn() + ")");
+        jdbcTemplate.execute("ALTER TABLE " + table.name() + " ALTER COLUMN " + table.timeColumn() + " SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE " + table.name() + " ADD PRIMARY KEY (" +
+                table.idColumn() + ", " + table.timeColumn() + ")");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.name() + "_default PARTITION OF " +
+                table.name() + " DEFAULT");
+        table.indexes().forEach((index, column) ->
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + index + " ON " + table.name() + " (" + column + ")"));
+
+        // 기존 데이터가 있는 달의 파티션을 먼저 만든 뒤 복사
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT min(" + table.timeColumn() + ") AS first, max(" + table.timeColumn() + ") AS last FROM " + legacy);
+        if (range.get("first") instanceof Timestamp first && range.get("last") instanceof Timestamp last) {
+            YearMonth end = YearMonth.from(last.toLocalDateTime());
+            for (YearMonth month = YearMonth.from(first.toLocalDateTime()); !month.isAfter(end); month = month.plusMonths(1)) {
+                createPartition(table, month);
+            }
+        }
+        createPartition(table, current);
+
+        long copied = jdbcTemplate.update("INSERT INTO " + table.name() + " SELECT * FROM " + legacy +
+                " WHERE " + table.timeColumn() + " IS NOT NULL");
+        long expected = (total == null ? 0 : total) - (nullTimes == null ? 0 : nullTimes);
+        if (copied != expected) {
+            throw new IllegalStateException(table.name() + " 변환 중 이전 건수 불일치: " + copied + "/" + expected);
+        }
+        jdbcTemplate.execute("DROP TABLE " + legacy);
+        log.info("{} 파티션 테이블로 변환 완료: {}행 이전", table.name(), copied);
+    }
+
+    /**
+     * 월 파티션 생성
+     * default 파티션에 이미 그 달의 행이 있으면 그대로는 만들 수 없으므로
+     * default 를 분리 → 파티션 생성 → 해당 행 이동 → default 재연결 (같은 트랜잭션, 그동안 INSERT 는 대기)
+     */
+    private void createPartition(PartitionedTable table, YearMonth month) {
+        String partition = partitionName(table, month);
+        if (relkind(partition) != null) {
+            return;
+        }
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String create = "CREATE TABLE " + partition + " PARTITION OF " + table.name() +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+
+        String defaultPartition = table.name() + "_default";
+        String inRange = " WHERE " + table.timeColumn() + " >= '" + from + "' AND " + table.timeColumn() + " < '" + to + "'";
+        boolean hasDefaultRows = relkind(defaultPartition) != null && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + defaultPartition + inRange + ")", Boolean.class));
+        if (!hasDefaultRows) {
+            jdbcTemplate.execute(create);
+            return;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + defaultPartition);
+        jdbcTemplate.execute(create);
+        int moved = jdbcTemplate.update("INSERT INTO " + partition + " SELECT * FROM " + defaultPartition + inRange);
+        jdbcTemplate.update("DELETE FROM " + defaultPartition + inRange);
+        jdbcTemplate.execute("ALTER TABLE " + table.name() + " ATTACH PARTITION " + defaultPartition + " DEFAULT");
+        log.info("{} 생성, default 파티션에서 {}행 이동", partition, moved);
+    }
+
+    /**
+     * keepFrom 이전 달의 파티션 분리 (drop-expired 이면 삭제, 아니면 보관용 독립 테이블로 남김)
+     */
+    private void expirePartitions(PartitionedTable table, YearMonth keepFrom) {
+        String prefix = table.name() + "_p";
+        List<String> partitions;
+        try {
+            partitions = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, table.name());
+        } catch (DataAccessException e) {
+            log.warn("{} 파티션 목록 조회 실패: {}", table.name(), e.getMessage());
+            return;
+        }
+        for (String partition : partitions) {
+            if (!partition.startsWith(prefix)) {
+                continue;
+            }
+            YearMonth month;
+            try {
+                month = YearMonth.parse(partition.substring(prefix.length()), SUFFIX);
+            } catch (DateTimeParseException e) {
+                continue;
+            }
+            if (!month.isBefore(keepFrom)) {
+                continue;
+            }
+            inTransaction(partition + " 만료 처리", () -> {
+                jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition);
+                if (dropExpired) {
+                    jdbcTemplate.execute("DROP TABLE " + partition);
+                    log.info("보관 기간 지난 파티션 삭제: {}", partition);
+                } else {
+                    log.info("보관 기간 지난 파티션 분리: {}", partition);
+                }
+            });
+        }
+    }
+
+    private String relkind(String tableName) {
+        List<String> kinds = jdbcTemplate.queryForList(RELKIND_SQL, String.class, tableName);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    static String partitionName(PartitionedTable table, YearMonth month) {
+        return table.name() + "_p" + month.format(SUFFIX);
+    }
+
+    /**
+     * 파티션 대상 테이블 (인덱스 이름 → 컬럼, 엔티티 @Index 와 동일)
+     */
+    record PartitionedTable(String name, String idColumn, String timeColumn, Map<String, String> indexes) {}
+}
@@ -0,0 +1,55 @@
+package yju.danawa.com.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * 비밀번호 중복 확인용 지문 (HMAC-SHA256, 서버 pepper 키)
+ * BCrypt 해시는 salt 때문에 비교하려면 전체를 matches 해야 하므로, 같은 비밀번호 → 같은 값인 지문을 따로 저장해 인덱스로 조회
+ * pepper 를 바꿀 때는 app.auth.password-pepper-version 도 올려야 함
+ * 지문과 함께 버전을 저장하고, 버전이 다른 지문은 중복 확인에서 제외한 뒤 다음 로그인 때 새 pepper 로 다시 계산
+ */
+@Service
+public class PasswordFingerprintService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final int version;
+
+    public PasswordFingerprintService(@Value("${app.auth.password-pepper}") String pepper,
+                                      @Value("${app.auth.password-pepper-version:1}") int version) {
+        if (pepper == null || pepper.isBlank()) {
+            throw new IllegalArgumentException("app.auth.password-pepper must not be blank");
+        }
+        this.key = new SecretKeySpec(pepper.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.version = version;
+    }
+
+    /**
+     * 현재 pepper 버전 (이 값과 다른 버전으로 저장된 지문은 다시 계산 대상)
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * 64자리 소문자 hex
+     */
+    public String fingerprint(String rawPassword) {
+        try {
+            // Mac 은 스레드 안전하지 않아 호출마다 생성 (키 스펙은 재사용)
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+}
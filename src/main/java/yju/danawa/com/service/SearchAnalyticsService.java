@@ -0,0 +1,183 @@
+package yju.danawa.com.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import yju.danawa.com.dto.SearchCardinalityDto;
+import yju.danawa.com.util.HyperLogLog;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 검색 로그 고유 키워드/학과 수 추정
+ * 완결된 시간 버킷마다 HyperLogLog 스케치를 search_log_sketches 에 저장하고,
+ * 임의 구간은 시간 스케치 병합 + 양 끝 부분 버킷의 원본 행으로 계산 (COUNT DISTINCT 없이)
+ */
+@Service
+public class SearchAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchAnalyticsService.class);
+
+    public static final String WATERMARK_NAME = "search_logs_hll";
+
+    static final String METRIC_KEYWORD = "keyword";
+    static final String METRIC_DEPT = "dept";
+
+    private static final String WATERMARK_SQL = "select watermark from rollup_watermarks where name = ?";
+    private static final String LOCK_WATERMARK_SQL =
+            "select watermark from rollup_watermarks where name = ? for update";
+    private static final String INSERT_WATERMARK_SQL =
+            "insert into rollup_watermarks (name, watermark) values (?, null) on conflict (name) do nothing";
+    private static final String UPDATE_WATERMARK_SQL =
+            "update rollup_watermarks set watermark = ? where name = ?";
+    private static final String FIRST_SEARCH_SQL = "select min(search_time) from search_logs";
+
+    private static final String BUCKET_ROWS_SQL =
+            "select date_trunc('hour', search_time) as bucket_start, lower(trim(keyword)) as keyword, user_dept " +
+            "from search_logs where search_time >= ? and search_time < ?";
+    private static final String RAW_ROWS_SQL =
+            "select lower(trim(keyword)) as keyword, user_dept from search_logs " +
+            "where (search_time >= ? and search_time < ?) or (search_time >= ? and search_time < ?)";
+    private static final String UPSERT_SKETCH_SQL =
+            "insert into search_log_sketches (bucket_start, metric, registers) values (?, ?, ?) " +
+            "on conflict (bucket_start, metric) do update set registers = excluded.registers";
+    private static final String SKETCHES_SQL =
+            "select metric, registers from search_log_sketches where bucket_start >= ? and bucket_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long lagMinutes;
+    private final long maxHoursPerRun;
+
+    public SearchAnalyticsService(JdbcTemplate jdbcTemplate,
+                                  @Value("${app.logs.rollup.lag-minutes:5}") long lagMinutes,
+                                  @Value("${app.logs.rollup.max-hours-per-run:168}") long maxHoursPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lagMinutes = Math.max(0, lagMinutes);
+        this.maxHoursPerRun = Math.max(1, maxHoursPerRun);
+    }
+
+    /**
+     * watermark 이후 완결된 시간 버킷의 스케치 생성
+     * 버킷 전체를 다시 계산해 덮어쓰므로 같은 구간을 여러 번 처리해도 결과가 같음
+     */
+    @Scheduled(fixedDelayString = "${app.logs.rollup.interval-ms:300000}",
+            initialDelayString = "${app.logs.rollup.initial-delay-ms:60000}")
+    @Transactional
+    public void buildSketches() {
+        jdbcTemplate.update(INSERT_WATERMARK_SQL, WATERMARK_NAME);
+        List<Timestamp> locked = jdbcTemplate.queryForList(LOCK_WATERMARK_SQL, Timestamp.class, WATERMARK_NAME);
+
+        LocalDateTime from;
+        if (locked.isEmpty() || locked.get(0) == null) {
+            Timestamp first = jdbcTemplate.queryForObject(FIRST_SEARCH_SQL, Timestamp.class);
+            if (first == null) {
+                return;
+            }
+            from = first.toLocalDateTime().truncatedTo(ChronoUnit.HOURS);
+        } else {
+            from = locked.get(0).toLocalDateTime();
+        }
+
+        LocalDateTime to = LocalDateTime.now().minusMinutes(lagMinutes).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime limit = from.plusHours(maxHoursPerRun);
+        if (to.isAfter(limit)) {
+            to = limit;
+        }
+        if (!to.isAfter(from)) {
+            return;
+        }
+
+        Map<LocalDateTime, Sketches> buckets = new TreeMap<>();
+        jdbcTemplate.query(BUCKET_ROWS_SQL, rs -> {
+            LocalDateTime bucket = rs.getTimestamp("bucket_start").toLocalDateTime();
+            buckets.computeIfAbsent(bucket, key -> new Sketches())
+                    .add(rs.getString("keyword"), rs.getString("user_dept"));
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        List<Object[]> rows = new ArrayList<>(buckets.size() * 2);
+        buckets.forEach((bucket, sketches) -> {
+            Timestamp bucketStart = Timestamp.valueOf(bucket);
+            rows.add(new Object[]{bucketStart, METRIC_KEYWORD, sketches.keywords.toBytes()});
+            rows.add(new Object[]{bucketStart, METRIC_DEPT, sketches.departments.toBytes()});
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SKETCH_SQL, rows);
+        }
+        jdbcTemplate.update(UPDATE_WATERMARK_SQL, Timestamp.valueOf(to), WATERMARK_NAME);
+        log.info("검색 로그 스케치 생성 완료: {} ~ {} ({}개 시간 버킷)", from, to, buckets.size());
+    }
+
+    /**
+     * [from, to) 구간의 고유 키워드/학과 수 추정 (표준 오차 약 1.6%)
+     */
+    @Transactional(readOnly = true)
+    public SearchCardinalityDto distinctCounts(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime sketchStart = ceilHour(from);
+        LocalDateTime sketchEnd = to.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime watermark = watermark();
+        if (watermark == null) {
+            sketchEnd = sketchStart;
+        } else if (watermark.isBefore(sketchEnd)) {
+            sketchEnd = watermark;
+        }
+        if (!sketchStart.isBefore(sketchEnd)) {
+            // 완결된 스케치가 없으면 전체를 원본에서 계산
+            sketchStart = to;
+            sketchEnd = to;
+        }
+
+        Sketches total = new Sketches();
+        jdbcTemplate.query(SKETCHES_SQL, rs -> {
+            HyperLogLog sketch = HyperLogLog.fromBytes(rs.getBytes("registers"));
+            if (METRIC_KEYWORD.equals(rs.getString("metric"))) {
+                total.keywords.merge(sketch);
+            } else if (METRIC_DEPT.equals(rs.getString("metric"))) {
+                total.departments.merge(sketch);
+            }
+        }, Timestamp.valueOf(sketchStart), Timestamp.valueOf(sketchEnd));
+
+        jdbcTemplate.query(RAW_ROWS_SQL, rs -> {
+            total.add(rs.getString("keyword"), rs.getString("user_dept"));
+        }, Timestamp.valueOf(from), Timestamp.valueOf(sketchStart),
+                Timestamp.valueOf(sketchEnd), Timestamp.valueOf(to));
+
+        return new SearchCardinalityDto(from, to, total.keywords.estimate(), total.departments.estimate());
+    }
+
+    private LocalDateTime watermark() {
+        List<Timestamp> watermark = jdbcTemplate.queryForList(WATERMARK_SQL, Timestamp.class, WATERMARK_NAME);
+        return watermark.isEmpty() || watermark.get(0) == null ? null : watermark.get(0).toLocalDateTime();
+    }
+
+    private static LocalDateTime ceilHour(LocalDateTime time) {
+        LocalDateTime truncated = time.truncatedTo(ChronoUnit.HOURS);
+        return truncated.equals(time) ? time : truncated.plusHours(1);
+    }
+
+    /**
+     * 한 버킷(또는 조회 구간)의 키워드/학과 스케치
+     */
+    private static class Sketches {
+        private final HyperLogLog keywords = new HyperLogLog();
+        private final HyperLogLog departments = new HyperLogLog();
+
+        void add(String keyword, String department) {
+            if (keyword != null && !keyword.isEmpty()) {
+                keywords.add(keyword);
+            }
+            if (department != null && !department.isBlank()) {
+                departments.add(department);
+            }
+        }
+    }
+}
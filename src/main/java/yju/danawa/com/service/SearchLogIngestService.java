@@ -0,0 +1,195 @@
+package yju.danawa.com.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import yju.danawa.com.domain.SearchLog;
+import yju.danawa.com.security.UserPrincipal;
+import yju.danawa.com.util.MpscRingBuffer;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 검색 로그 비동기 적재
+ * 검색 요청 스레드는 (키워드, Bearer 토큰)을 lock-free 링 버퍼에 넣기만 하고,
+ * 전용 스레드가 토큰 검증(JwtService 캐시), 학과 조회(UserService.findPrincipal 캐시), batch INSERT 를 처리
+ * (검색 경로는 공개 보안 체인이라 요청 스레드에서는 JWT 를 파싱하지 않음)
+ * 버퍼가 가득 차면 검색 응답을 막지 않고 해당 로그만 버림
+ */
+@Service
+public class SearchLogIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchLogIngestService.class);
+
+    private static final String INSERT_SQL =
+            "insert into search_logs (log_id, keyword, user_dept, search_time) values (?, ?, ?, ?)";
+    // SearchLog 엔티티와 같은 시퀀스에서 ID 구간을 받아옴 (값 하나 = ID_ALLOCATION_SIZE 개, pooled-lo)
+    private static final String NEXT_ID_BLOCKS_SQL = "select nextval('search_logs_seq') from generate_series(1, ?)";
+    private static final int MAX_KEYWORD_LENGTH = 255;
+    // 종료 시 남은 로그를 쓰기 위해 기다리는 최대 시간
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserService userService;
+    private final JwtService jwtService;
+    private final MpscRingBuffer<SearchEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public SearchLogIngestService(JdbcTemplate jdbcTemplate,
+                                  UserService userService,
+                                  JwtService jwtService,
+                                  @Value("${app.logs.search.buffer-capacity:8192}") int bufferCapacity,
+                                  @Value("${app.logs.search.batch-size:500}") int batchSize,
+                                  @Value("${app.logs.search.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userService = userService;
+        this.jwtService = jwtService;
+        this.buffer = new MpscRingBuffer<>(Math.max(1, bufferCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.writer = Thread.ofPlatform()
+                .name("search-log-writer")
+                .daemon(true)
+                .unstarted(this::drainLoop);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * 종료 시 새 로그는 버리고 버퍼에 남은 로그를 모두 기록
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.warn("검색 로그 writer 종료 대기 시간 초과, 미기록 {}건", buffer.size());
+        } else {
+            log.info("검색 로그 writer 종료");
+        }
+    }
+
+    /**
+     * 검색어 기록 (authorization: 요청의 Authorization 헤더, 없으면 학과 없이 기록)
+     */
+    public void record(String keyword, String authorization) {
+        if (!running || keyword == null || keyword.isBlank()) {
+            return;
+        }
+        String normalized = keyword.trim();
+        if (normalized.length() > MAX_KEYWORD_LENGTH) {
+            normalized = normalized.substring(0, MAX_KEYWORD_LENGTH);
+        }
+        String token = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        if (!buffer.offer(new SearchEvent(normalized, token, LocalDateTime.now()))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    private void drainLoop() {
+        List<SearchEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            buffer.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                reportDropped();
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void reportDropped() {
+        long count = dropped.getAndSet(0);
+        if (count > 0) {
+            log.warn("검색 로그 버퍼가 가득 차 {}건을 기록하지 못함", count);
+        }
+    }
+
+    private void write(List<SearchEvent> batch) {
+        try {
+            Map<String, String> departments = resolveDepartments(batch);
+            List<Long> ids = nextIds(batch.size());
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                SearchEvent event = batch.get(i);
+                rows.add(new Object[]{
+                        ids.get(i),
+                        event.keyword(),
+                        event.token() == null ? null : departments.get(event.token()),
+                        Timestamp.valueOf(event.searchTime())
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            log.debug("검색 로그 {}건 기록", batch.size());
+        } catch (DataAccessException e) {
+            log.error("검색 로그 {}건 기록 실패: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * batch 안의 토큰별 학과 (토큰 검증과 UserService.findPrincipal 캐시를 토큰당 한 번만 조회)
+     * 유효하지 않은 토큰은 학과 없이 기록
+     */
+    private Map<String, String> resolveDepartments(List<SearchEvent> batch) {
+        Map<String, String> departments = new HashMap<>();
+        for (SearchEvent event : batch) {
+            String token = event.token();
+            if (token != null && !departments.containsKey(token)) {
+                departments.put(token, jwtService.validate(token)
+                        .flatMap(verified -> userService.findPrincipal(verified.username()))
+                        .map(UserPrincipal::department)
+                        .orElse(null));
+            }
+        }
+        return departments;
+    }
+
+    private List<Long> nextIds(int count) {
+        int blockSize = SearchLog.ID_ALLOCATION_SIZE;
+        int blocks = (count + blockSize - 1) / blockSize;
+        List<Long> lows = jdbcTemplate.queryForList(NEXT_ID_BLOCKS_SQL, Long.class, blocks);
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(lows.get(i / blockSize) + i % blockSize);
+        }
+        return ids;
+    }
+
+    private record SearchEvent(String keyword, String token, LocalDateTime searchTime) {}
+}
@@ -0,0 +1,114 @@
+package yju.danawa.com.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import yju.danawa.com.util.SuggestTrie;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 검색어 자동완성
+ * 도서 제목/저자와 최근 인기 검색어를 클릭 수로 가중해 SuggestTrie 로 만들고,
+ * 백그라운드에서 새로 만든 뒤 참조만 교체 (조회는 잠금 없이 trie 탐색 한 번)
+ */
+@Service
+public class SuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+
+    public static final int MAX_LIMIT = 20;
+
+    // 제목/저자는 도서당 기본 1 + 기간 내 클릭 수
+    private static final String BOOKS_SQL = "select isbn, title, author from books";
+    private static final String CLICKS_SQL =
+            "select isbn, sum(clicks) as clicks from click_rollups_isbn " +
+            "where granularity = 'day' and bucket_start >= ? and isbn <> '' group by isbn";
+    // 검색어는 정규화 기준으로 묶고, 가장 많이 쓰인 표기 대신 대표 표기 하나(min)를 사용
+    private static final String KEYWORDS_SQL =
+            "select min(trim(keyword)) as keyword, count(*) as searches from search_logs " +
+            "where search_time >= ? and keyword is not null " +
+            "group by lower(trim(keyword)) having count(*) >= ? " +
+            "order by searches desc limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long clickDays;
+    private final long keywordDays;
+    private final int keywordMinCount;
+    private final int keywordLimit;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile SuggestTrie trie = SuggestTrie.empty();
+
+    public SuggestService(JdbcTemplate jdbcTemplate,
+                          @Value("${app.suggest.click-days:30}") long clickDays,
+                          @Value("${app.suggest.keyword-days:30}") long keywordDays,
+                          @Value("${app.suggest.keyword-min-count:2}") int keywordMinCount,
+                          @Value("${app.suggest.keyword-limit:5000}") int keywordLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clickDays = Math.max(1, clickDays);
+        this.keywordDays = Math.max(1, keywordDays);
+        this.keywordMinCount = Math.max(1, keywordMinCount);
+        this.keywordLimit = Math.max(0, keywordLimit);
+    }
+
+    /**
+     * prefix 로 시작하는 제목/저자/검색어 (가중치 내림차순)
+     */
+    public List<SuggestTrie.Suggestion> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * 기동 완료 후 한 번, 이후 주기적으로 재생성 (이전 재생성이 진행 중이면 건너뜀)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.suggest.rebuild-interval-ms:300000}",
+            initialDelayString = "${app.suggest.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long started = System.currentTimeMillis();
+            SuggestTrie rebuilt = load();
+            trie = rebuilt;
+            log.info("자동완성 색인 생성 완료: {}개 항목, {}ms", rebuilt.size(), System.currentTimeMillis() - started);
+        } catch (DataAccessException e) {
+            log.warn("자동완성 색인 생성 실패, 기존 색인 유지: {}", e.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private SuggestTrie load() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> clicks = new HashMap<>();
+        jdbcTemplate.query(CLICKS_SQL, rs -> {
+            clicks.put(rs.getString("isbn"), rs.getLong("clicks"));
+        }, Timestamp.valueOf(now.minusDays(clickDays)));
+
+        SuggestTrie.Builder builder = SuggestTrie.builder(MAX_LIMIT);
+        jdbcTemplate.query(BOOKS_SQL, rs -> {
+            long weight = 1 + clicks.getOrDefault(rs.getString("isbn"), 0L);
+            builder.add(rs.getString("title"), weight);
+            builder.add(rs.getString("author"), weight);
+        });
+        if (keywordLimit > 0) {
+            jdbcTemplate.query(KEYWORDS_SQL, rs -> {
+                builder.add(rs.getString("keyword"), rs.getLong("searches"));
+            }, Timestamp.valueOf(now.minusDays(keywordDays)), keywordMinCount, keywordLimit);
+        }
+        return builder.build();
+    }
+}
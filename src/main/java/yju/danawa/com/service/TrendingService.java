@@ -0,0 +1,270 @@
+package yju.danawa.com.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import yju.danawa.com.domain.Book;
+import yju.danawa.com.dto.BookDto;
+import yju.danawa.com.dto.TrendingBookDto;
+import yju.danawa.com.repository.BookRepository;
+import yju.danawa.com.util.SpaceSaving;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 클릭 스트림 기반 실시간 인기 도서
+ * 기간(1h/24h/7d)마다 시간 버킷 링을 두고 버킷별 Space-Saving 스케치에 클릭을 누적
+ * 조회 시 기간 안의 버킷을 병합해 상위 K개 (결과는 잠시 캐시)
+ * 주기적으로 trending_checkpoints 에 저장해 재시작 후에도 유지
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    public static final int MAX_LIMIT = 50;
+
+    /**
+     * 기간 = 버킷 크기 × 버킷 수 (현재 버킷은 진행 중이므로 실제 범위는 (n-1)~n 버킷)
+     */
+    public enum Window {
+        HOUR("1h", Duration.ofMinutes(5), 12),
+        DAY("24h", Duration.ofHours(1), 24),
+        WEEK("7d", Duration.ofHours(6), 28);
+
+        private final String code;
+        private final long bucketMillis;
+        private final int buckets;
+
+        Window(String code, Duration bucket, int buckets) {
+            this.code = code;
+            this.bucketMillis = bucket.toMillis();
+            this.buckets = buckets;
+        }
+
+        public String code() {
+            return code;
+        }
+
+        public static Window of(String code) {
+            String normalized = code == null ? "" : code.toLowerCase(Locale.ROOT);
+            for (Window window : values()) {
+                if (window.code.equals(normalized)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Unknown window: " + code);
+        }
+    }
+
+    private static final String DELETE_SQL = "delete from trending_checkpoints";
+    private static final String INSERT_SQL =
+            "insert into trending_checkpoints (window_name, bucket_index, item, item_count, item_error) values (?, ?, ?, ?, ?)";
+    private static final String SELECT_SQL =
+            "select window_name, bucket_index, item, item_count, item_error from trending_checkpoints";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookRepository bookRepository;
+    private final int capacity;
+    private final long readCacheMillis;
+    private final Map<Window, Ring> rings = new EnumMap<>(Window.class);
+    private final Map<Window, CachedTop> topCache = new EnumMap<>(Window.class);
+
+    public TrendingService(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           BookRepository bookRepository,
+                           @Value("${app.trending.capacity:200}") int capacity,
+                           @Value("${app.trending.read-cache-ms:5000}") long readCacheMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookRepository = bookRepository;
+        this.capacity = Math.max(MAX_LIMIT, capacity);
+        this.readCacheMillis = readCacheMillis;
+        for (Window window : Window.values()) {
+            rings.put(window, new Ring(window, this.capacity));
+        }
+    }
+
+    /**
+     * 클릭 1건 반영 (기간마다 현재 버킷 하나만 갱신)
+     */
+    public void record(String isbn) {
+        if (isbn == null || isbn.isBlank()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Ring ring : rings.values()) {
+            ring.offer(isbn, 1, 0, now / ring.window.bucketMillis);
+        }
+    }
+
+    /**
+     * 기간별 인기 도서 상위 limit 개
+     */
+    public List<TrendingBookDto> top(Window window, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        long now = System.currentTimeMillis();
+        CachedTop cached;
+        synchronized (topCache) {
+            cached = topCache.get(window);
+        }
+        if (cached == null || now - cached.computedAt() > readCacheMillis) {
+            cached = new CachedTop(computeTop(window, now), now);
+            synchronized (topCache) {
+                topCache.put(window, cached);
+            }
+        }
+        return cached.items().size() <= size ? cached.items() : cached.items().subList(0, size);
+    }
+
+    private List<TrendingBookDto> computeTop(Window window, long now) {
+        List<SpaceSaving.Entry> entries = rings.get(window).merged(now / window.bucketMillis).top(MAX_LIMIT);
+        Map<String, Book> books = bookRepository.findAllById(entries.stream().map(SpaceSaving.Entry::item).toList())
+                .stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+        return entries.stream()
+                .map(entry -> new TrendingBookDto(entry.item(), entry.count(), toDto(books.get(entry.item()))))
+                .toList();
+    }
+
+    private static BookDto toDto(Book book) {
+        if (book == null) {
+            return null;
+        }
+        return new BookDto(
+                book.getIsbn(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getPublisher(),
+                book.getImageUrl(),
+                book.getPublishedDate(),
+                book.getPrice()
+        );
+    }
+
+    /**
+     * 기동 시 체크포인트 복원 (기간을 벗어난 버킷은 버림)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = System.currentTimeMillis();
+        int[] restored = {0};
+        try {
+            jdbcTemplate.query(SELECT_SQL, rs -> {
+                Window window;
+                try {
+                    window = Window.of(rs.getString("window_name"));
+                } catch (IllegalArgumentException e) {
+                    return;
+                }
+                Ring ring = rings.get(window);
+                long bucket = rs.getLong("bucket_index");
+                if (bucket > now / window.bucketMillis - window.buckets) {
+                    ring.offer(rs.getString("item"), rs.getLong("item_count"), rs.getLong("item_error"), bucket);
+                    restored[0]++;
+                }
+            });
+            log.info("인기 도서 체크포인트 복원: {}건", restored[0]);
+        } catch (DataAccessException e) {
+            log.warn("인기 도서 체크포인트 복원 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.checkpoint-interval-ms:60000}",
+            initialDelayString = "${app.trending.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        List<Object[]> rows = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Ring ring : rings.values()) {
+            ring.snapshot(now / ring.window.bucketMillis, rows);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(DELETE_SQL);
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            });
+            log.debug("인기 도서 체크포인트 저장: {}건", rows.size());
+        } catch (DataAccessException e) {
+            log.warn("인기 도서 체크포인트 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private record CachedTop(List<TrendingBookDto> items, long computedAt) {}
+
+    /**
+     * 버킷 링 (slot = bucketIndex % buckets, 다른 index 가 들어오면 비우고 재사용)
+     */
+    private static final class Ring {
+        private final Window window;
+        private final SpaceSaving[] sketches;
+        private final long[] indexes;
+        private final int capacity;
+
+        private Ring(Window window, int capacity) {
+            this.window = window;
+            this.capacity = capacity;
+            this.sketches = new SpaceSaving[window.buckets];
+            this.indexes = new long[window.buckets];
+            for (int i = 0; i < window.buckets; i++) {
+                sketches[i] = new SpaceSaving(capacity);
+                indexes[i] = -1;
+            }
+        }
+
+        synchronized void offer(String item, long count, long error, long bucket) {
+            int slot = (int) (bucket % window.buckets);
+            if (indexes[slot] != bucket) {
+                if (indexes[slot] > bucket) {
+                    return;
+                }
+                sketches[slot].clear();
+                indexes[slot] = bucket;
+            }
+            sketches[slot].offer(item, count, error);
+        }
+
+        synchronized SpaceSaving merged(long current) {
+            // 버킷 합집합을 모두 담을 수 있는 크기로 병합 (병합 중 축출 없음)
+            SpaceSaving merged = new SpaceSaving(capacity * window.buckets);
+            for (int i = 0; i < window.buckets; i++) {
+                if (indexes[i] > current - window.buckets) {
+                    merged.merge(sketches[i]);
+                }
+            }
+            return merged;
+        }
+
+        synchronized void snapshot(long current, List<Object[]> rows) {
+            for (int i = 0; i < window.buckets; i++) {
+                if (indexes[i] <= current - window.buckets) {
+                    continue;
+                }
+                for (SpaceSaving.Entry entry : sketches[i].entries()) {
+                    rows.add(new Object[]{window.code, indexes[i], entry.item(), entry.count(), entry.error()});
+                }
+            }
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package yju.danawa.com.service;
 
+import yju.danawa.com.config.CacheConfig;
 import yju.danawa.com.domain.User;
 import yju.danawa.com.repository.UserRepository;
+import yju.danawa.com.security.UserPrincipal;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
@@ -13,12 +15,17 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final PasswordFingerprintService passwordFingerprintService;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, PasswordFingerprintService passwordFingerprintService) {
         this.userRepository = userRepository;
+        this.passwordFingerprintService = passwordFingerprintService;
     }
 
-    @Cacheable(cacheNames = "users", key = "#username == null ? '' : #username.toLowerCase()")
+    /**
+     * 사용자 엔티티 (수정 후 save 할 때 사용, 캐시하지 않음)
+     * 조회만 필요하면 findPrincipal 사용
+     */
     public Optional<User> findByUsername(String username) {
         if (username == null || username.isBlank()) {
             return Optional.empty();
@@ -26,7 +33,32 @@ public class UserService {
         return userRepository.findByUsernameIgnoreCase(username.trim());
     }
 
-    @CacheEvict(cacheNames = "users", key = "#user.username == null ? '' : #user.username.toLowerCase()")
+    /**
+     * 로그인용 사용자 스냅샷 (사용자 + 역할 한 번에 조회 후 캐시)
+     * 캐시 키는 조회와 같은 기준(trim + 대소문자 무시), save 의 제거 키와 UserProfileService 도 같은 식 사용
+     */
+    @Cacheable(cacheNames = CacheConfig.USER_PRINCIPALS, key = "#username == null ? '' : #username.trim().toLowerCase()")
+    public Optional<UserPrincipal> findPrincipal(String username) {
+        if (username == null || username.isBlank()) {
+            return Optional.empty();
+        }
+        return userRepository.findWithRolesByUsername(username.trim()).map(UserPrincipal::of);
+    }
+
+    /**
+     * 사용자 + 역할 엔티티 (프로필 조회용, 캐시하지 않음)
+     */
+    public Optional<User> findWithRoles(String username) {
+        if (username == null || username.isBlank()) {
+            return Optional.empty();
+        }
+        return userRepository.findWithRolesByUsername(username.trim());
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USER_PRINCIPALS, key = "#user.username == null ? '' : #user.username.trim().toLowerCase()"),
+            @CacheEvict(cacheNames = CacheConfig.USER_PROFILES, key = "#user.username == null ? '' : #user.username.trim().toLowerCase()")
+    })
     public User save(User user) {
         return userRepository.save(user);
     }
@@ -45,11 +77,31 @@ public class UserService {
         return userRepository.existsByStudentId(studentId.trim());
     }
 
-    public boolean isPasswordInUse(String rawPassword, PasswordEncoder passwordEncoder) {
+    /**
+     * 같은 비밀번호를 쓰는 사용자가 있는지 (지문 인덱스 조회 한 번)
+     * 지문이 아직 없거나 이전 pepper 버전의 지문만 있는 사용자는 제외
+     */
+    public boolean isPasswordInUse(String rawPassword) {
         if (rawPassword == null || rawPassword.isBlank()) {
             return false;
         }
-        return userRepository.findAllPasswordHashes().stream()
-                .anyMatch(hash -> passwordEncoder.matches(rawPassword, hash));
+        return userRepository.existsByPasswordFingerprintAndPasswordFingerprintVersion(
+                passwordFingerprintService.fingerprint(rawPassword), passwordFingerprintService.version());
+    }
+
+    /**
+     * 지문이 없거나 현재 pepper 버전이 아니어서 다시 계산해야 하는지
+     */
+    public boolean needsPasswordFingerprint(UserPrincipal principal) {
+        Integer version = principal.passwordFingerprintVersion();
+        return version == null || version != passwordFingerprintService.version();
+    }
+
+    /**
+     * 저장 전 비밀번호 지문 설정 (현재 pepper 버전 함께 기록)
+     */
+    public void applyPasswordFingerprint(User user, String rawPassword) {
+        user.setPasswordFingerprint(passwordFingerprintService.fingerprint(rawPassword));
+        user.setPasswordFingerprintVersion(passwordFingerprintService.version());
     }
 }
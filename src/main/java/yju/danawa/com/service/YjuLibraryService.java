@@ -6,13 +6,28 @@ import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import yju.danawa.com.config.CacheConfig;
+import yju.danawa.com.grpc.LibraryRequest;
+import yju.danawa.com.grpc.LibraryResponse;
+import yju.danawa.com.util.IsbnLinks;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
@@ -26,18 +41,26 @@ public class YjuLibraryService {
     private static final String SCRAPER_SERVICE_URL = "http://library-scraper:8090";
     private static final int TIMEOUT_MS = 15000;
 
-    // Manual caching (10분 TTL)
-    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
-    private static final long CACHE_TTL_MS = 10 * 60 * 1000;
+    // 결과 캐시 (크기 제한 + 결과 종류별 TTL, CacheConfig 참고)
+    private final Cache cache;
+
+    // ISBN별 진행 중인 스크래퍼 조회 (동시 요청은 하나의 호출 결과를 공유)
+    private final Map<String, CompletableFuture<LibraryAvailability>> inFlightChecks = new ConcurrentHashMap<>();
 
     private final WebClient webClient;
     private final LibraryGrpcClient grpcClient;
+    private final int batchConcurrency;
 
-    public YjuLibraryService(WebClient.Builder webClientBuilder, LibraryGrpcClient grpcClient) {
+    public YjuLibraryService(WebClient.Builder webClientBuilder,
+                             LibraryGrpcClient grpcClient,
+                             CacheManager cacheManager,
+                             @Value("${app.library.batch.max-concurrency:8}") int batchConcurrency) {
         this.webClient = webClientBuilder
                 .baseUrl(YJU_LIBRARY_BASE)
                 .build();
         this.grpcClient = grpcClient;
+        this.cache = cacheManager.getCache(CacheConfig.LIBRARY_AVAILABILITY);
+        this.batchConcurrency = Math.max(1, batchConcurrency);
     }
 
     /**
@@ -58,22 +81,320 @@ public class YjuLibraryService {
 
         // 🔥 하드코딩: ISBN 정리 (하이픈, 공백 제거)
         isbn = isbn.replaceAll("[^0-9]", "").trim();
-        String cacheKey = isbn;
+        String isbn13 = IsbnLinks.toIsbn13(isbn);
+        String cacheKey = isbn13 != null ? isbn13 : isbn;
 
         // 캐시 확인
-        CacheEntry cached = cache.get(cacheKey);
-        if (cached != null && !cached.isExpired()) {
+        LibraryAvailability cached = cache.get(cacheKey, LibraryAvailability.class);
+        if (cached != null) {
             log.debug("캐시에서 반환: {}", cacheKey);
-            return cached.data;
+            return cached;
+        }
+
+        // 같은 ISBN을 이미 조회 중이면 그 결과를 함께 기다림
+        CompletableFuture<LibraryAvailability> pending = new CompletableFuture<>();
+        CompletableFuture<LibraryAvailability> inFlight = inFlightChecks.putIfAbsent(cacheKey, pending);
+        if (inFlight != null) {
+            log.debug("진행 중인 조회 결과 공유: {}", cacheKey);
+            return inFlight.join();
+        }
+        try {
+            // 캐시 확인과 등록 사이에 끝난 조회가 있을 수 있으므로 다시 확인
+            cached = cache.get(cacheKey, LibraryAvailability.class);
+            LibraryAvailability result = cached != null ? cached : lookupByIsbn(isbn, title, cacheKey);
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightChecks.remove(cacheKey, pending);
+        }
+    }
+
+    /**
+     * 여러 권의 소장 여부를 한 번에 확인 (검색 결과 페이지용)
+     * 캐시 적중분은 바로 채우고, 나머지는 BatchCheckLibrary 한 번으로 조회
+     * ISBN-13으로 바꿀 수 없는 항목(제목 검색 등)은 일괄 조회와 동시에 최대 batchConcurrency 개씩 단건 조회
+     * 반환 Map의 키는 LibraryQuery.key() (요청 순서 유지)
+     */
+    public Map<String, LibraryAvailability> checkAvailabilityBatch(List<LibraryQuery> queries) {
+        Map<String, LibraryAvailability> resolved = new LinkedHashMap<>();
+        Map<String, CompletableFuture<LibraryAvailability>> joined = new LinkedHashMap<>();
+        Map<String, CompletableFuture<LibraryAvailability>> owned = new LinkedHashMap<>();
+        Map<String, String> cacheKeys = new LinkedHashMap<>();
+        List<LibraryQuery> singles = new ArrayList<>();
+
+        for (LibraryQuery query : queries) {
+            String cacheKey = IsbnLinks.toIsbn13(query.isbn());
+            if (cacheKey == null) {
+                // ISBN이 없거나 형식이 잘못된 경우는 기존 단건 경로 (제목 검색 등)
+                singles.add(query);
+                continue;
+            }
+            cacheKeys.put(query.key(), cacheKey);
+
+            LibraryAvailability cached = cache.get(cacheKey, LibraryAvailability.class);
+            if (cached != null) {
+                resolved.put(query.key(), cached);
+                continue;
+            }
+            if (owned.containsKey(cacheKey) || joined.containsKey(cacheKey)) {
+                continue;
+            }
+            CompletableFuture<LibraryAvailability> pending = new CompletableFuture<>();
+            CompletableFuture<LibraryAvailability> inFlight = inFlightChecks.putIfAbsent(cacheKey, pending);
+            if (inFlight != null) {
+                joined.put(cacheKey, inFlight);
+            } else {
+                owned.put(cacheKey, pending);
+            }
+        }
+
+        CompletableFuture<List<LibraryResult>> singleResults = checkEach(singles).collectList().toFuture();
+
+        if (!owned.isEmpty()) {
+            try {
+                lookupBatch(owned, queries);
+            } catch (RuntimeException e) {
+                // 남은 future 는 아래 finally 에서 실패 처리되고, 결과에는 항목별 error 로 들어감
+                log.warn("도서관 일괄 검색 중단: {}", e.getMessage());
+            } finally {
+                owned.forEach((cacheKey, pending) -> {
+                    if (!pending.isDone()) {
+                        pending.completeExceptionally(new IllegalStateException("도서관 일괄 검색 중단: " + cacheKey));
+                    }
+                    inFlightChecks.remove(cacheKey, pending);
+                });
+            }
+        }
+        for (LibraryResult single : singleResults.join()) {
+            resolved.put(single.key(), single.availability());
+        }
+
+        Map<String, LibraryAvailability> results = new LinkedHashMap<>();
+        for (LibraryQuery query : queries) {
+            LibraryAvailability result = resolved.get(query.key());
+            if (!resolved.containsKey(query.key())) {
+                String cacheKey = cacheKeys.get(query.key());
+                CompletableFuture<LibraryAvailability> future = owned.containsKey(cacheKey)
+                        ? owned.get(cacheKey) : joined.get(cacheKey);
+                // 다른 요청이 소유한 조회가 실패해도 이 항목만 error 결과로 (일괄 응답 전체를 실패시키지 않음)
+                result = future.exceptionally(e -> lookupFailed(cacheKey, e)).join();
+            }
+            results.put(query.key(), result);
+        }
+        return results;
+    }
+
+    /**
+     * 여러 권의 소장 여부를 완료되는 순서대로 전달
+     * 캐시 적중분은 호출 시점에 확인해 가장 먼저 내보내고,
+     * 캐시 미스 ISBN은 StreamCheckLibrary 스트림 하나로 조회해 응답이 오는 대로 전달
+     * (ISBN-13으로 바꿀 수 없는 항목은 최대 batchConcurrency 개씩 단건 조회)
+     */
+    public Flux<LibraryResult> streamAvailability(List<LibraryQuery> queries) {
+        List<LibraryResult> hits = new ArrayList<>();
+        Map<String, List<String>> keysByIsbn = new LinkedHashMap<>();
+        Map<String, String> titles = new LinkedHashMap<>();
+        List<LibraryQuery> singles = new ArrayList<>();
+
+        for (LibraryQuery query : queries) {
+            String cacheKey = IsbnLinks.toIsbn13(query.isbn());
+            if (cacheKey == null) {
+                singles.add(query);
+                continue;
+            }
+            LibraryAvailability cached = cache.get(cacheKey, LibraryAvailability.class);
+            if (cached != null) {
+                hits.add(new LibraryResult(query.key(), cached));
+                continue;
+            }
+            keysByIsbn.computeIfAbsent(cacheKey, key -> new ArrayList<>()).add(query.key());
+            if (query.title() != null) {
+                titles.putIfAbsent(cacheKey, query.title());
+            }
+        }
+
+        return Flux.concat(
+                Flux.fromIterable(hits),
+                Flux.merge(streamMisses(keysByIsbn, titles), checkEach(singles)));
+    }
+
+    /**
+     * 단건 조회를 최대 batchConcurrency 개까지 동시에 수행
+     */
+    private Flux<LibraryResult> checkEach(List<LibraryQuery> queries) {
+        return Flux.fromIterable(queries)
+                .flatMap(query -> Mono.fromCallable(() ->
+                                new LibraryResult(query.key(), checkAvailability(query.isbn(), query.title())))
+                        .onErrorResume(e -> Mono.just(new LibraryResult(query.key(), lookupFailed(query.key(), e))))
+                        .subscribeOn(Schedulers.boundedElastic()), batchConcurrency);
+    }
+
+    /**
+     * 조회 실패(공유 중인 조회의 예외 포함)를 항목 하나의 error 결과로 변환
+     */
+    private LibraryAvailability lookupFailed(String key, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        log.warn("도서관 검색 실패 ({}): {}", key, cause.getMessage());
+        return LibraryAvailability.error("검색 실패: " + cause.getMessage(), buildSearchUrl(key));
+    }
+
+    /**
+     * 캐시 미스 ISBN-13을 스트리밍 조회하고, 같은 ISBN을 요청한 키마다 결과 전달
+     * 다른 요청이 이미 조회 중인 ISBN은 그 결과를 함께 기다림
+     */
+    private Flux<LibraryResult> streamMisses(Map<String, List<String>> keysByIsbn, Map<String, String> titles) {
+        if (keysByIsbn.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> {
+            Map<String, CompletableFuture<LibraryAvailability>> pendings = new LinkedHashMap<>();
+            Map<String, CompletableFuture<LibraryAvailability>> owned = new LinkedHashMap<>();
+            for (String isbn13 : keysByIsbn.keySet()) {
+                CompletableFuture<LibraryAvailability> pending = new CompletableFuture<>();
+                CompletableFuture<LibraryAvailability> inFlight = inFlightChecks.putIfAbsent(isbn13, pending);
+                if (inFlight == null) {
+                    owned.put(isbn13, pending);
+                }
+                pendings.put(isbn13, inFlight != null ? inFlight : pending);
+            }
+            lookupStream(owned, titles);
+
+            return Flux.fromIterable(pendings.entrySet())
+                    .flatMap(entry -> Mono.fromFuture(entry.getValue(), true)
+                            .onErrorResume(e -> Mono.just(lookupFailed(entry.getKey(), e)))
+                            .flatMapIterable(result -> keysByIsbn.get(entry.getKey()).stream()
+                                    .map(key -> new LibraryResult(key, result))
+                                    .toList()));
+        });
+    }
+
+    /**
+     * StreamCheckLibrary 로 조회하며 응답이 올 때마다 캐시하고 future 완료 (호출 스레드를 막지 않음)
+     * 스트림이 실패하거나 응답이 빠진 ISBN은 단건 조회로 대체
+     */
+    private void lookupStream(Map<String, CompletableFuture<LibraryAvailability>> owned, Map<String, String> titles) {
+        List<LibraryRequest> requests = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<LibraryAvailability>> entry : owned.entrySet()) {
+            String isbn13 = entry.getKey();
+            // 등록 직전에 끝난 조회가 있을 수 있으므로 다시 확인
+            LibraryAvailability cached = cache.get(isbn13, LibraryAvailability.class);
+            if (cached != null) {
+                completeInFlight(isbn13, entry.getValue(), cached);
+                continue;
+            }
+            requests.add(LibraryGrpcClient.buildRequest(isbn13, titles.get(isbn13), isbn13));
+        }
+        if (requests.isEmpty()) {
+            return;
         }
 
+        try {
+            grpcClient.streamCheckLibrary(requests, response -> {
+                String isbn13 = response.getRequestId();
+                CompletableFuture<LibraryAvailability> pending = owned.get(isbn13);
+                if (pending == null || pending.isDone()) {
+                    return;
+                }
+                LibraryAvailability result = toAvailability(response, isbn13, titles.get(isbn13));
+                cache.put(isbn13, result);
+                completeInFlight(isbn13, pending, result);
+            }).whenComplete((ignored, error) -> lookupRemaining(owned, titles, error));
+        } catch (RuntimeException e) {
+            lookupRemaining(owned, titles, e);
+        }
+    }
+
+    /**
+     * 스트리밍 응답을 받지 못한 ISBN을 최대 batchConcurrency 개씩 단건 조회
+     */
+    private void lookupRemaining(Map<String, CompletableFuture<LibraryAvailability>> owned,
+                                 Map<String, String> titles, Throwable error) {
+        List<String> remaining = owned.entrySet().stream()
+                .filter(entry -> !entry.getValue().isDone())
+                .map(Map.Entry::getKey)
+                .toList();
+        if (remaining.isEmpty()) {
+            return;
+        }
+        log.warn("도서관 스트리밍 검색 미완료 {}건, 단건 조회로 대체: {}", remaining.size(),
+                error != null ? error.getMessage() : "응답 누락");
+        Flux.fromIterable(remaining)
+                .flatMap(isbn13 -> Mono.fromRunnable(() -> completeInFlight(isbn13, owned.get(isbn13),
+                                lookupByIsbn(isbn13, titles.get(isbn13), isbn13)))
+                        .subscribeOn(Schedulers.boundedElastic()), batchConcurrency)
+                .subscribe();
+    }
+
+    private void completeInFlight(String isbn13, CompletableFuture<LibraryAvailability> pending,
+                                  LibraryAvailability result) {
+        pending.complete(result);
+        inFlightChecks.remove(isbn13, pending);
+    }
+
+    /**
+     * 캐시 미스 ISBN-13 목록을 일괄 조회하고 각 future 완료
+     * 일괄 호출이 실패하면 (구버전 스크래퍼 등) 단건 조회로 대체
+     */
+    private void lookupBatch(Map<String, CompletableFuture<LibraryAvailability>> owned, List<LibraryQuery> queries) {
+        Map<String, String> titles = new LinkedHashMap<>();
+        for (LibraryQuery query : queries) {
+            String isbn13 = IsbnLinks.toIsbn13(query.isbn());
+            if (isbn13 != null && query.title() != null) {
+                titles.putIfAbsent(isbn13, query.title());
+            }
+        }
+
+        List<String> misses = new ArrayList<>();
+        List<LibraryRequest> requests = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<LibraryAvailability>> entry : owned.entrySet()) {
+            String isbn13 = entry.getKey();
+            // 등록 직전에 끝난 조회가 있을 수 있으므로 다시 확인
+            LibraryAvailability cached = cache.get(isbn13, LibraryAvailability.class);
+            if (cached != null) {
+                entry.getValue().complete(cached);
+                continue;
+            }
+            misses.add(isbn13);
+            requests.add(LibraryGrpcClient.buildRequest(isbn13, titles.get(isbn13), isbn13));
+        }
+        if (misses.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<LibraryResponse> responses = grpcClient.batchCheckLibrary(requests);
+            for (int i = 0; i < misses.size(); i++) {
+                String isbn13 = misses.get(i);
+                LibraryAvailability result = toAvailability(responses.get(i), isbn13, titles.get(isbn13));
+                cache.put(isbn13, result);
+                owned.get(isbn13).complete(result);
+            }
+            log.info("✅ 도서관 일괄 검색 완료: {}건", misses.size());
+        } catch (Exception e) {
+            log.warn("도서관 일괄 검색 실패, 단건 조회로 대체: {}", e.getMessage());
+            for (String isbn13 : misses) {
+                CompletableFuture<LibraryAvailability> future = owned.get(isbn13);
+                if (!future.isDone()) {
+                    future.complete(lookupByIsbn(isbn13, titles.get(isbn13), isbn13));
+                }
+            }
+        }
+    }
+
+    /**
+     * ISBN 조회 후 결과 캐시 (예외 대신 error 결과 반환)
+     */
+    private LibraryAvailability lookupByIsbn(String isbn, String title, String cacheKey) {
         try {
             final String searchIsbn;  // 🔥 하드코딩: final로 선언
 
             // 🔥 하드코딩: 무조건 ISBN-13 (13자리)으로 변환
             if (isbn.length() == 10) {
                 // ISBN-10 → ISBN-13 변환
-                String isbn13 = convertIsbn10ToIsbn13(isbn);
+                String isbn13 = IsbnLinks.toIsbn13(isbn);
                 if (isbn13 != null) {
                     log.info("🔥 하드코딩: ISBN-10 → ISBN-13 변환: {} → {}", isbn, isbn13);
                     searchIsbn = isbn13;  // 무조건 13자리
@@ -107,13 +428,16 @@ public class YjuLibraryService {
             log.info("✅ 도서관 검색 결과: found={}, available={}, location={}",
                     result.isFound(), result.isAvailable(), result.getLocation());
 
-            cache.put(cacheKey, new CacheEntry(result));
+            cache.put(cacheKey, result);
             return result;
 
         } catch (Exception e) {
             log.error("❌ 영진전문대 도서관 검색 실패: {}", e.getMessage(), e);
             String searchUrl = buildSearchUrl(isbn);
-            return LibraryAvailability.error("검색 실패: " + e.getMessage(), searchUrl);
+            // 오류도 짧게 캐시해서 스크래퍼 장애 시 같은 ISBN 재요청 폭주를 막음
+            LibraryAvailability error = LibraryAvailability.error("검색 실패: " + e.getMessage(), searchUrl);
+            cache.put(cacheKey, error);
+            return error;
         }
     }
 
@@ -156,22 +480,12 @@ public class YjuLibraryService {
             log.debug("gRPC 호출: isbn={}, title={}", isbn, title);
 
             // gRPC 호출
-            yju.danawa.com.grpc.LibraryResponse grpcResponse = grpcClient.checkLibrary(isbn, title);
+            LibraryResponse grpcResponse = grpcClient.checkLibrary(isbn, title);
 
             log.info("gRPC 응답: found={}, available={}, location={}",
                     grpcResponse.getFound(), grpcResponse.getAvailable(), grpcResponse.getLocation());
 
-            // gRPC 응답을 LibraryAvailability로 변환
-            String searchUrl = buildSearchUrl(isbn != null ? isbn : title);
-
-            return new LibraryAvailability(
-                    grpcResponse.getFound(),
-                    grpcResponse.getAvailable(),
-                    grpcResponse.getLocation().isEmpty() ? null : grpcResponse.getLocation(),
-                    grpcResponse.getCallNumber().isEmpty() ? null : grpcResponse.getCallNumber(),
-                    grpcResponse.getDetailUrl().isEmpty() ? searchUrl : grpcResponse.getDetailUrl(),
-                    grpcResponse.getErrorMessage().isEmpty() ? null : grpcResponse.getErrorMessage()
-            );
+            return toAvailability(grpcResponse, isbn, title);
 
         } catch (Exception e) {
             log.error("gRPC 호출 실패: {}", e.getMessage());
@@ -180,6 +494,22 @@ public class YjuLibraryService {
         }
     }
 
+    /**
+     * gRPC 응답을 LibraryAvailability로 변환
+     */
+    private LibraryAvailability toAvailability(LibraryResponse grpcResponse, String isbn, String title) {
+        String searchUrl = buildSearchUrl(isbn != null ? isbn : title);
+
+        return new LibraryAvailability(
+                grpcResponse.getFound(),
+                grpcResponse.getAvailable(),
+                grpcResponse.getLocation().isEmpty() ? null : grpcResponse.getLocation(),
+                grpcResponse.getCallNumber().isEmpty() ? null : grpcResponse.getCallNumber(),
+                grpcResponse.getDetailUrl().isEmpty() ? searchUrl : grpcResponse.getDetailUrl(),
+                grpcResponse.getErrorMessage().isEmpty() ? null : grpcResponse.getErrorMessage()
+        );
+    }
+
     /**
      * 스크래퍼 응답 파싱
      */
@@ -254,38 +584,6 @@ public class YjuLibraryService {
         return null; // 수동 확인된 도서 아님
     }
 
-    /**
-     * ISBN-10을 ISBN-13으로 변환
-     * 978 접두어를 추가하고 체크 디지트 재계산
-     */
-    private String convertIsbn10ToIsbn13(String isbn10) {
-        if (isbn10 == null || isbn10.length() != 10) {
-            return null;
-        }
-
-        try {
-            // ISBN-10의 마지막 체크 디지트 제거하고 978 접두어 추가
-            String base = "978" + isbn10.substring(0, 9);
-
-            // ISBN-13 체크 디지트 계산
-            int sum = 0;
-            for (int i = 0; i < 12; i++) {
-                int digit = Character.getNumericValue(base.charAt(i));
-                // 홀수 위치(0-based)는 3을 곱함
-                sum += (i % 2 == 0) ? digit : digit * 3;
-            }
-
-            int checkDigit = (10 - (sum % 10)) % 10;
-            String isbn13 = base + checkDigit;
-
-            log.debug("ISBN-10 -> ISBN-13 변환: {} -> {}", isbn10, isbn13);
-            return isbn13;
-        } catch (Exception e) {
-            log.warn("ISBN-10 to ISBN-13 변환 실패: {}", isbn10, e);
-            return null;
-        }
-    }
-
     /**
      * 저자, 출판사 정보를 포함한 상세 검색
      * ISBN으로만 검색 (ISBN 없으면 검색하지 않음)
@@ -593,6 +891,24 @@ public class YjuLibraryService {
         }
     }
 
+    /**
+     * 일괄 확인 요청 한 건 (ISBN + 폴백용 제목)
+     */
+    public record LibraryQuery(String isbn, String title) {
+
+        /**
+         * 결과 식별 키 (ISBN이 없으면 제목)
+         */
+        public String key() {
+            return isbn != null && !isbn.isBlank() ? isbn : title;
+        }
+    }
+
+    /**
+     * 스트리밍 결과 한 건
+     */
+    public record LibraryResult(String key, LibraryAvailability availability) {}
+
     /**
      * 도서관 소장 정보 DTO
      */
@@ -629,22 +945,4 @@ public class YjuLibraryService {
         public String getDetailUrl() { return detailUrl; }
         public String getErrorMessage() { return errorMessage; }
     }
-
-    /**
-     * 캐시 엔트리
-     */
-    private static class CacheEntry {
-        private final LibraryAvailability data;
-        private final long expiresAt;
-
-        public CacheEntry(LibraryAvailability data) {
-            this.data = data;
-            this.expiresAt = System.currentTimeMillis() + CACHE_TTL_MS;
-        }
-
-        public boolean isExpired() {
-            return System.currentTimeMillis() > expiresAt;
-        }
-    }
 }
-
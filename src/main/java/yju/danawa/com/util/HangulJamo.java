@@ -0,0 +1,117 @@
+package yju.danawa.com.util;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 한글 음절 분해
+ * - 자모 키: 음절을 초성/중성/종성 기본 자모로 풀어씀 (겹모음/겹받침도 분리: 의 → ㅇㅡㅣ, 닭 → ㄷㅏㄹㄱ)
+ *   입력 중인 글자("자바의 저")도 완성된 제목("자바의 정석")의 자모 키에 부분 문자열로 포함됨
+ * - 초성 키: 음절마다 초성만, 공백 제거 ("자바의 정석" → ㅈㅂㅇㅈㅅ)
+ * 한글이 아닌 문자는 소문자로 그대로 둠
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private static final String[] CHO = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    private static final String[] JUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ",
+            "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+            "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    // 단독으로 입력된 겹모음/겹받침 자모 (ㅢ, ㄳ 등) → 기본 자모
+    private static final Map<Character, String> COMPOUND_JAMO = new HashMap<>();
+
+    static {
+        register("ㅘㅙㅚㅝㅞㅟㅢ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ");
+        register("ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄ", "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ");
+    }
+
+    private HangulJamo() {
+    }
+
+    private static void register(String compounds, String... parts) {
+        for (int i = 0; i < compounds.length(); i++) {
+            COMPOUND_JAMO.put(compounds.charAt(i), parts[i]);
+        }
+    }
+
+    /**
+     * 자모 키 (공백은 유지)
+     */
+    public static String decompose(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(lower.length() * 3);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (isSyllable(c)) {
+                int offset = c - SYLLABLE_BASE;
+                out.append(CHO[offset / (JUNG_COUNT * JONG_COUNT)])
+                        .append(JUNG[offset % (JUNG_COUNT * JONG_COUNT) / JONG_COUNT])
+                        .append(JONG[offset % JONG_COUNT]);
+            } else {
+                String parts = COMPOUND_JAMO.get(c);
+                out.append(parts != null ? parts : String.valueOf(c));
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * 초성 키 (공백 제거, 한글 자음은 그대로)
+     */
+    public static String choseong(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            out.append(isSyllable(c) ? CHO[(c - SYLLABLE_BASE) / (JUNG_COUNT * JONG_COUNT)] : String.valueOf(c));
+        }
+        return out.toString();
+    }
+
+    /**
+     * 공백 외에는 한글 자음(ㄱ~ㅎ)만으로 된 입력인지 ("ㅈㅂㅇ ㅈㅅ")
+     */
+    public static boolean isChoseongOnly(String text) {
+        if (text == null) {
+            return false;
+        }
+        boolean found = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c < 'ㄱ' || c > 'ㅎ') {
+                return false;
+            }
+            found = true;
+        }
+        return found;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+}
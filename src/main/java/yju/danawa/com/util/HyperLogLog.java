@@ -0,0 +1,136 @@
+package yju.danawa.com.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog 고유 개수 추정 (Flajolet et al.)
+ * 레지스터 2^precision 개 (precision 12 → 4096개, 표준 오차 약 1.6%)
+ * 같은 precision 끼리 레지스터 최대값으로 병합 가능
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private static final byte DENSE = 0;
+    private static final byte SPARSE = 1;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision must be between 4 and 16");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void add(String value) {
+        if (value == null) {
+            return;
+        }
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - precision));
+        long rest = hash << precision;
+        int rank = Math.min(Long.numberOfLeadingZeros(rest), 64 - precision) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("precision mismatch");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        double estimate = alpha * m * m / sum;
+        // 작은 범위 보정 (linear counting)
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * 직렬화 (채워진 레지스터가 적으면 (index, 값) 목록만 저장)
+     */
+    public byte[] toBytes() {
+        int filled = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                filled++;
+            }
+        }
+        if (filled * 3 < registers.length) {
+            ByteBuffer buffer = ByteBuffer.allocate(2 + filled * 3);
+            buffer.put((byte) precision).put(SPARSE);
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] != 0) {
+                    buffer.putShort((short) i).put(registers[i]);
+                }
+            }
+            return buffer.array();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(2 + registers.length);
+        buffer.put((byte) precision).put(DENSE).put(registers);
+        return buffer.array();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        HyperLogLog hll = new HyperLogLog(buffer.get());
+        if (buffer.get() == SPARSE) {
+            while (buffer.remaining() >= 3) {
+                int index = Short.toUnsignedInt(buffer.getShort());
+                hll.registers[index] = buffer.get();
+            }
+        } else {
+            buffer.get(hll.registers);
+        }
+        return hll;
+    }
+
+    /**
+     * 64비트 FNV-1a + murmur3 finalizer (상위 비트까지 고르게 섞음)
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -56,6 +56,26 @@ public final class IsbnLinks {
         return sum % 10 == 0;
     }
 
+    /**
+     * 정규화된 ISBN-13 반환 (ISBN-10은 978 접두어로 변환, 유효하지 않으면 null)
+     */
+    public static String toIsbn13(String raw) {
+        String isbn = normalizeIsbn(raw);
+        if (isValidIsbn13(isbn)) {
+            return isbn;
+        }
+        if (!isValidIsbn10(isbn)) {
+            return null;
+        }
+        String base = "978" + isbn.substring(0, 9);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int digit = Character.getNumericValue(base.charAt(i));
+            sum += (i % 2 == 0) ? digit : digit * 3;
+        }
+        return base + (10 - (sum % 10)) % 10;
+    }
+
     public static Map<String, String> buildDeepLinks(String rawIsbn) {
         String isbn = normalizeIsbn(rawIsbn);
         if (!isValidIsbn(isbn)) {
@@ -0,0 +1,106 @@
+package yju.danawa.com.util;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 크기 고정 lock-free 링 버퍼 (생산자 여럿, 소비자 하나)
+ * 슬롯마다 sequence 를 두어 생산자는 CAS 한 번으로 자리를 잡고, 가득 차면 기다리지 않고 false 반환
+ * poll/drainTo 는 한 스레드에서만 호출해야 함
+ */
+public class MpscRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * capacity 는 2의 거듭제곱으로 올림
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.items = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("item");
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.set(index, item);
+                    // 값을 넣은 뒤 sequence 를 올려야 소비자가 읽을 수 있음
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // 소비자가 아직 비우지 않은 슬롯 = 가득 참
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    public T poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        T item = items.get(index);
+        items.set(index, null);
+        sequences.set(index, position + mask + 1);
+        head.set(position + 1);
+        return item;
+    }
+
+    /**
+     * 최대 maxItems 개를 꺼내 target 에 추가하고 꺼낸 개수 반환
+     */
+    public int drainTo(Collection<? super T> target, int maxItems) {
+        int drained = 0;
+        while (drained < maxItems) {
+            T item = poll();
+            if (item == null) {
+                break;
+            }
+            target.add(item);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, mask + 1L));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,102 @@
+package yju.danawa.com.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy hitter 스케치 (Metwally et al.)
+ * 최대 capacity 개의 항목만 추적하며, 빈도가 N/capacity 보다 큰 항목은 반드시 포함
+ * 가득 찬 상태에서 새 항목이 오면 최소 카운터를 넘겨받고 그 값을 error 로 기록 (count - error ≤ 실제 빈도 ≤ count)
+ * 스레드 안전하지 않음 (호출 측에서 동기화)
+ */
+public class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    // 최소 카운터를 찾기 위한 정렬 (count, item 순)
+    private final TreeSet<Counter> byCount = new TreeSet<>(
+            Comparator.comparingLong((Counter c) -> c.count).thenComparing(c -> c.item));
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public void offer(String item) {
+        offer(item, 1, 0);
+    }
+
+    /**
+     * weight 만큼 증가 (병합/복원 시에는 상대 스케치의 error 도 함께 누적)
+     */
+    public void offer(String item, long weight, long error) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += weight;
+            counter.error += error;
+        } else if (counters.size() < capacity) {
+            counter = new Counter(item, weight, error);
+            counters.put(item, counter);
+        } else {
+            Counter min = byCount.pollFirst();
+            counters.remove(min.item);
+            counter = new Counter(item, min.count + weight, min.count + error);
+            counters.put(item, counter);
+        }
+        byCount.add(counter);
+    }
+
+    public void merge(SpaceSaving other) {
+        for (Counter counter : other.counters.values()) {
+            offer(counter.item, counter.count, counter.error);
+        }
+    }
+
+    /**
+     * 추정 빈도 상위 n개 (내림차순)
+     */
+    public List<Entry> top(int n) {
+        List<Entry> result = new ArrayList<>(Math.min(n, counters.size()));
+        Iterator<Counter> it = byCount.descendingIterator();
+        while (it.hasNext() && result.size() < n) {
+            Counter counter = it.next();
+            result.add(new Entry(counter.item, counter.count, counter.error));
+        }
+        return result;
+    }
+
+    public List<Entry> entries() {
+        return top(counters.size());
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public void clear() {
+        counters.clear();
+        byCount.clear();
+    }
+
+    public record Entry(String item, long count, long error) {}
+
+    private static final class Counter {
+        private final String item;
+        private long count;
+        private long error;
+
+        private Counter(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
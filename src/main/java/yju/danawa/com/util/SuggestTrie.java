@@ -0,0 +1,185 @@
+package yju.danawa.com.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 자동완성용 radix trie (불변)
+ * 분기가 없는 경로는 간선 하나(문자열 label)로 압축하고, 노드마다 하위 항목 중 가중치 상위 k개를 미리 계산
+ * 조회는 접두어 길이만큼 내려가서 저장된 목록을 그대로 반환 (후보 수와 무관)
+ * 여러 스레드에서 동시에 조회 가능, 갱신은 Builder 로 새로 만들어 교체
+ */
+public final class SuggestTrie {
+
+    private static final Comparator<Suggestion> BY_WEIGHT =
+            Comparator.comparingLong(Suggestion::weight).reversed().thenComparing(Suggestion::text);
+
+    private static final SuggestTrie EMPTY = new SuggestTrie(new Node(new char[0], new String[0], new Node[0], new Suggestion[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private SuggestTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static SuggestTrie empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder(int maxSuggestions) {
+        return new Builder(maxSuggestions);
+    }
+
+    /**
+     * 항목 수 (정규화 후 중복 제거 기준)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * prefix 로 시작하는 항목을 가중치 내림차순으로 최대 limit 개 (limit 은 Builder 의 maxSuggestions 이하)
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = Arrays.binarySearch(node.firstChars, key.charAt(position));
+            if (index < 0) {
+                return List.of();
+            }
+            String label = node.labels[index];
+            int remaining = key.length() - position;
+            if (remaining <= label.length()) {
+                // 접두어가 간선 중간에서 끝나면 그 아래 전체가 후보
+                if (!label.startsWith(key.substring(position))) {
+                    return List.of();
+                }
+                return head(node.children[index].top, limit);
+            }
+            if (!key.startsWith(label, position)) {
+                return List.of();
+            }
+            position += label.length();
+            node = node.children[index];
+        }
+        return head(node.top, limit);
+    }
+
+    private static List<Suggestion> head(Suggestion[] top, int limit) {
+        return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+    }
+
+    /**
+     * 소문자 + 연속 공백 하나로 (조회 키와 색인 키가 같은 규칙을 사용)
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public record Suggestion(String text, long weight) {}
+
+    private record Node(char[] firstChars, String[] labels, Node[] children, Suggestion[] top) {}
+
+    public static final class Builder {
+
+        private final int maxSuggestions;
+        // 정규화 키 → (표시 문자열, 누적 가중치)
+        private final Map<String, Suggestion> entries = new HashMap<>();
+
+        private Builder(int maxSuggestions) {
+            if (maxSuggestions < 1) {
+                throw new IllegalArgumentException("maxSuggestions must be positive");
+            }
+            this.maxSuggestions = maxSuggestions;
+        }
+
+        /**
+         * 같은 키로 여러 번 추가하면 가중치를 더하고, 표시 문자열은 더 큰 가중치로 추가된 쪽을 사용
+         */
+        public Builder add(String text, long weight) {
+            String key = normalize(text);
+            if (key.isEmpty() || weight <= 0) {
+                return this;
+            }
+            String display = text.trim().replaceAll("\\s+", " ");
+            entries.merge(key, new Suggestion(display, weight), (previous, added) -> new Suggestion(
+                    added.weight() > previous.weight() ? added.text() : previous.text(),
+                    previous.weight() + added.weight()));
+            return this;
+        }
+
+        public SuggestTrie build() {
+            if (entries.isEmpty()) {
+                return EMPTY;
+            }
+            String[] keys = entries.keySet().toArray(new String[0]);
+            Arrays.sort(keys);
+            return new SuggestTrie(build(keys, 0, keys.length, 0), keys.length);
+        }
+
+        /**
+         * 정렬된 keys[from, to) 가 모두 depth 글자까지 같을 때, 그 지점의 노드 생성
+         */
+        private Node build(String[] keys, int from, int to, int depth) {
+            List<Suggestion> candidates = new ArrayList<>();
+            int start = from;
+            if (keys[start].length() == depth) {
+                candidates.add(entries.get(keys[start]));
+                start++;
+            }
+
+            List<Character> firstChars = new ArrayList<>();
+            List<String> labels = new ArrayList<>();
+            List<Node> children = new ArrayList<>();
+            int groupStart = start;
+            while (groupStart < to) {
+                char first = keys[groupStart].charAt(depth);
+                int groupEnd = groupStart + 1;
+                while (groupEnd < to && keys[groupEnd].charAt(depth) == first) {
+                    groupEnd++;
+                }
+                // 정렬되어 있으므로 그룹의 첫/마지막 키의 공통 접두어 = 그룹 전체의 공통 접두어
+                int common = commonPrefix(keys[groupStart], keys[groupEnd - 1], depth);
+                Node child = build(keys, groupStart, groupEnd, depth + common);
+                firstChars.add(first);
+                labels.add(keys[groupStart].substring(depth, depth + common));
+                children.add(child);
+                candidates.addAll(Arrays.asList(child.top()));
+                groupStart = groupEnd;
+            }
+
+            candidates.sort(BY_WEIGHT);
+            Suggestion[] top = candidates.subList(0, Math.min(maxSuggestions, candidates.size()))
+                    .toArray(new Suggestion[0]);
+            char[] chars = new char[firstChars.size()];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = firstChars.get(i);
+            }
+            return new Node(chars, labels.toArray(new String[0]), children.toArray(new Node[0]), top);
+        }
+
+        private static int commonPrefix(String a, String b, int from) {
+            int limit = Math.min(a.length(), b.length());
+            int i = from;
+            while (i < limit && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i - from;
+        }
+    }
+}
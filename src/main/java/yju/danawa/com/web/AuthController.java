@@ -1,8 +1,8 @@
 package yju.danawa.com.web;
 
 import yju.danawa.com.domain.User;
+import yju.danawa.com.security.UserPrincipal;
 import yju.danawa.com.service.JwtService;
-import yju.danawa.com.service.UserProfileService;
 import yju.danawa.com.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -17,22 +17,20 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private final UserService userService;
-    private final UserProfileService userProfileService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
 
     public AuthController(UserService userService,
-                          UserProfileService userProfileService,
                           PasswordEncoder passwordEncoder,
                           JwtService jwtService) {
         this.userService = userService;
-        this.userProfileService = userProfileService;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
     }
@@ -58,12 +56,12 @@ public class AuthController {
         if (userService.existsByStudentId(request.studentId())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "STUDENT_ID_EXISTS");
         }
-        if (userService.isPasswordInUse(request.password(), passwordEncoder)) {
+        if (userService.isPasswordInUse(request.password())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "PASSWORD_IN_USE");
         }
 
         LocalDateTime now = LocalDateTime.now();
-        User saved = userService.save(new User(
+        User user = new User(
                 request.username(),
                 passwordEncoder.encode(request.password()),
                 request.email(),
@@ -77,26 +75,40 @@ public class AuthController {
                 null,
                 now,
                 now
-        ));
+        );
+        userService.applyPasswordFingerprint(user, request.password());
+        User saved = userService.save(user);
         String token = jwtService.generateToken(saved.getUsername());
-        return new LoginResponse(saved.getUsername(), "ok", token, userProfileService.getRoleNames(saved.getUserId()));
+        // 가입 직후 로그인/프로필 조회에 쓰일 스냅샷을 역할과 함께 한 번에 적재
+        List<String> roles = userService.findPrincipal(saved.getUsername())
+                .map(UserPrincipal::roles)
+                .orElse(List.of());
+        return new LoginResponse(saved.getUsername(), "ok", token, roles);
     }
 
     @PostMapping("/login")
     @ResponseStatus(HttpStatus.OK)
     public LoginResponse login(@Valid @RequestBody LoginRequest request) {
-        User user = userService.findByUsername(request.username())
+        // 사용자 + 역할 스냅샷 (캐시 적중 시 DB 조회 없음)
+        UserPrincipal principal = userService.findPrincipal(request.username())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
 
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (!passwordEncoder.matches(request.password(), principal.passwordHash())) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
         }
 
-        if (Boolean.FALSE.equals(user.getIsEnabled()) || Boolean.TRUE.equals(user.getIsLocked())) {
+        if (!principal.enabled() || principal.locked()) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User not allowed");
         }
+        // 지문이 없거나(지문 도입 전 가입) pepper 버전이 바뀐 사용자는 로그인 때 다시 계산 (이후 중복 확인 대상에 포함)
+        if (userService.needsPasswordFingerprint(principal)) {
+            userService.findByUsername(principal.username()).ifPresent(user -> {
+                userService.applyPasswordFingerprint(user, request.password());
+                userService.save(user);
+            });
+        }
 
-        String token = jwtService.generateToken(user.getUsername());
-        return new LoginResponse(user.getUsername(), "ok", token, userProfileService.getRoleNames(user.getUserId()));
+        String token = jwtService.generateToken(principal.username());
+        return new LoginResponse(principal.username(), "ok", token, principal.roles());
     }
 }
@@ -2,34 +2,83 @@ package yju.danawa.com.web;
 
 import yju.danawa.com.dto.BookDto;
 import yju.danawa.com.dto.BookPriceDto;
+import yju.danawa.com.dto.BookSearchPageDto;
+import yju.danawa.com.dto.TrendingBookDto;
 import yju.danawa.com.service.BookService;
 import yju.danawa.com.service.BookPriceService;
+import yju.danawa.com.service.SearchLogIngestService;
+import yju.danawa.com.service.SuggestService;
+import yju.danawa.com.service.TrendingService;
 import yju.danawa.com.service.YjuLibraryService;
+import yju.danawa.com.service.YjuLibraryService.LibraryQuery;
+import yju.danawa.com.util.SuggestTrie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/books")
 public class BookController {
 
+    // 한 번에 확인할 수 있는 최대 도서 수 (검색 결과 페이지 최대 크기와 동일)
+    private static final int MAX_LIBRARY_CHECK_BATCH = 100;
+
     private final BookService bookService;
     private final YjuLibraryService yjuLibraryService;
     private final BookPriceService bookPriceService;
+    private final TrendingService trendingService;
+    private final SearchLogIngestService searchLogIngestService;
+    private final SuggestService suggestService;
 
-    public BookController(BookService bookService, YjuLibraryService yjuLibraryService, BookPriceService bookPriceService) {
+    public BookController(BookService bookService,
+                          YjuLibraryService yjuLibraryService,
+                          BookPriceService bookPriceService,
+                          TrendingService trendingService,
+                          SearchLogIngestService searchLogIngestService,
+                          SuggestService suggestService) {
         this.bookService = bookService;
         this.yjuLibraryService = yjuLibraryService;
         this.bookPriceService = bookPriceService;
+        this.trendingService = trendingService;
+        this.searchLogIngestService = searchLogIngestService;
+        this.suggestService = suggestService;
     }
 
     @GetMapping("/search")
-    public BookSearchResponse getBooks(@RequestParam("q") String keyword) {
-        List<BookDto> items = bookService.search(keyword);
-        return new BookSearchResponse(items, items.size());
+    public BookSearchResponse getBooks(
+            @RequestParam("q") String keyword,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        // 첫 페이지 요청만 검색 1회로 기록 (캐시 적중도 포함되도록 캐시 프록시 밖에서 기록)
+        if (page == 0 && (after == null || after.isBlank())) {
+            searchLogIngestService.record(keyword, authorization);
+        }
+        BookSearchPageDto result = bookService.search(keyword, page, size, after);
+        return new BookSearchResponse(result.items(), result.total(), result.page(), result.size(), result.nextCursor());
+    }
+
+    /**
+     * 입력 중인 검색어 자동완성 (DB 조회 없이 메모리 색인에서 응답)
+     */
+    @GetMapping("/suggest")
+    public List<SuggestTrie.Suggestion> suggest(
+            @RequestParam("q") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return suggestService.suggest(prefix, limit);
     }
 
     @GetMapping("/library-check")
@@ -48,6 +97,43 @@ public class BookController {
         return yjuLibraryService.checkAvailability(isbn, title);
     }
 
+    /**
+     * 검색 결과 페이지 전체의 소장 여부를 한 번에 확인 (키: ISBN, 없으면 제목)
+     */
+    @PostMapping("/library-check")
+    public Map<String, YjuLibraryService.LibraryAvailability> checkLibraryBatch(
+            @RequestBody List<LibraryCheckRequest> requests) {
+        return yjuLibraryService.checkAvailabilityBatch(toQueries(requests));
+    }
+
+    /**
+     * stream=true: 결과가 나오는 대로 한 줄씩 전송 (NDJSON)
+     */
+    @PostMapping(value = "/library-check", params = "stream=true", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<YjuLibraryService.LibraryResult> streamLibraryCheck(
+            @RequestBody List<LibraryCheckRequest> requests) {
+        return yjuLibraryService.streamAvailability(toQueries(requests));
+    }
+
+    private List<LibraryQuery> toQueries(List<LibraryCheckRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+        if (requests.size() > MAX_LIBRARY_CHECK_BATCH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Too many books (max " + MAX_LIBRARY_CHECK_BATCH + ")");
+        }
+        return requests.stream()
+                .map(request -> {
+                    LibraryQuery query = new LibraryQuery(request.isbn(), request.title());
+                    if (query.key() == null || query.key().isBlank()) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "isbn or title is required");
+                    }
+                    return query;
+                })
+                .toList();
+    }
+
     @GetMapping("/prices")
     public List<BookPriceDto> getBookPrices(
             @RequestParam(value = "isbn", required = false) String isbn,
@@ -55,7 +141,23 @@ public class BookController {
         return bookPriceService.getPrices(isbn, title);
     }
 
-    public record BookSearchResponse(List<BookDto> items, int total) {}
+    /**
+     * 최근 클릭이 많은 도서 (window: 1h | 24h | 7d)
+     */
+    @GetMapping("/trending")
+    public List<TrendingBookDto> getTrendingBooks(
+            @RequestParam(value = "window", defaultValue = "24h") String window,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        TrendingService.Window trendingWindow;
+        try {
+            trendingWindow = TrendingService.Window.of(window);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return trendingService.top(trendingWindow, limit);
+    }
+
+    public record BookSearchResponse(List<BookDto> items, long total, int page, int size, String nextCursor) {}
 }
 
 
@@ -0,0 +1,7 @@
+package yju.danawa.com.web;
+
+public record LibraryCheckRequest(
+        String isbn,
+        String title
+) {
+}
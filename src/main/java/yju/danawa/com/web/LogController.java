@@ -1,54 +1,142 @@
 package yju.danawa.com.web;
 
 import yju.danawa.com.domain.ClickLog;
-import yju.danawa.com.repository.ClickLogRepository;
+import yju.danawa.com.dto.SearchCardinalityDto;
+import yju.danawa.com.service.ClickLogIngestService;
+import yju.danawa.com.service.LogExportService;
+import yju.danawa.com.service.SearchAnalyticsService;
+import yju.danawa.com.service.TrendingService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/logs")
 public class LogController {
 
-    private final ClickLogRepository clickLogRepository;
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final ClickLogIngestService clickLogIngestService;
+    private final LogExportService logExportService;
+    private final TrendingService trendingService;
+    private final SearchAnalyticsService searchAnalyticsService;
     private final String apiKey;
 
-    public LogController(ClickLogRepository clickLogRepository,
+    public LogController(ClickLogIngestService clickLogIngestService,
+                         LogExportService logExportService,
+                         TrendingService trendingService,
+                         SearchAnalyticsService searchAnalyticsService,
                          @Value("${app.api-key:}") String apiKey) {
-        this.clickLogRepository = clickLogRepository;
+        this.clickLogIngestService = clickLogIngestService;
+        this.logExportService = logExportService;
+        this.trendingService = trendingService;
+        this.searchAnalyticsService = searchAnalyticsService;
         this.apiKey = apiKey;
     }
 
     @PostMapping("/click")
-    @ResponseStatus(HttpStatus.CREATED)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public Map<String, Object> sendClickLog(@Valid @RequestBody ClickLogRequest request,
                                             @RequestHeader(value = "X-API-KEY", required = false) String requestApiKey) {
-        if (apiKey != null && !apiKey.isBlank()) {
-            if (requestApiKey == null || !apiKey.equals(requestApiKey)) {
-                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid API key");
-            }
-        }
+        checkApiKey(requestApiKey);
         ClickLog log = new ClickLog(
                 request.isbn(),
                 request.target_channel(),
                 request.slider_value(),
                 LocalDateTime.now()
         );
-        ClickLog saved = clickLogRepository.save(log);
+        // DB 기록은 ClickLogIngestService 가 batch 로 처리, 큐가 가득 차면 잠시 후 재시도 요청
+        if (!clickLogIngestService.offer(log)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Click log queue is full");
+        }
+        trendingService.record(request.isbn());
 
-        return Map.of(
-                "status", "saved",
-                "click_id", saved.getClickId()
-        );
+        return Map.of("status", "queued");
+    }
+
+    /**
+     * 기간별 로그 내보내기 (dataset: clicks | searches, format: ndjson | csv)
+     * 행을 읽는 대로 응답에 쓰므로 수백만 행도 메모리 사용량이 일정
+     */
+    @GetMapping("/export/{dataset}")
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+            @PathVariable String dataset,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        // 관리자 권한은 SecurityConfig 에서 확인 (API 키만으로는 내보낼 수 없음)
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        LogExportService.Dataset exportDataset = parse(LogExportService.Dataset.class, dataset);
+        LogExportService.Format exportFormat = parse(LogExportService.Format.class, format);
+
+        String fileName = exportDataset.fileName() + "_" + from.format(FILE_DATE) + "_" + to.format(FILE_DATE)
+                + "." + exportFormat.extension() + (gzip ? ".gz" : "");
+        MediaType contentType = MediaType.APPLICATION_NDJSON;
+        if (gzip) {
+            contentType = MediaType.parseMediaType("application/gzip");
+        } else if (exportFormat == LogExportService.Format.CSV) {
+            contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        }
+
+        StreamingResponseBody body = out -> logExportService.export(exportDataset, exportFormat, from, to, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    /**
+     * [from, to) 구간의 고유 검색 키워드/학과 수 (HyperLogLog 추정치)
+     */
+    @GetMapping("/searches/distinct")
+    public SearchCardinalityDto distinctSearches(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        // 관리자 권한은 SecurityConfig 에서 확인
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        return searchAnalyticsService.distinctCounts(from, to);
+    }
+
+    private void checkApiKey(String requestApiKey) {
+        if (apiKey != null && !apiKey.isBlank()) {
+            if (requestApiKey == null || !apiKey.equals(requestApiKey)) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid API key");
+            }
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported value: " + value);
+        }
     }
 }
@@ -4,4 +4,61 @@ VALUES
   ('9788966260959', '자바의 정석', '남궁성', '도우출판', 'https://image.aladin.co.kr/product/7608/24/cover500/8966260959_1.jpg', '2016-01-01', 32000)
 ON CONFLICT (isbn) DO NOTHING;
 
+-- 키워드 검색용 trigram 인덱스 (BookRepository.searchByTrigram)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_books_isbn_trgm ON books USING gin (isbn gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_books_title_trgm ON books USING gin (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_books_author_trgm ON books USING gin (author gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_books_publisher_trgm ON books USING gin (publisher gin_trgm_ops);
 
+-- 로그 테이블 ID: IDENTITY → pooled 시퀀스 (ClickLog/SearchLog.ID_ALLOCATION_SIZE = 50)
+-- 기존 IDENTITY 해제, 직접 INSERT 용 기본값 지정, 기존 최대 ID 이후부터 발급되도록 시퀀스 이동
+ALTER TABLE click_logs ALTER COLUMN click_id DROP IDENTITY IF EXISTS;
+ALTER TABLE click_logs ALTER COLUMN click_id SET DEFAULT nextval('click_logs_seq');
+SELECT setval('click_logs_seq', (SELECT COALESCE(MAX(click_id), 0) + 1 FROM click_logs), false)
+WHERE (SELECT last_value FROM click_logs_seq) <= (SELECT COALESCE(MAX(click_id), 0) FROM click_logs);
+ALTER TABLE search_logs ALTER COLUMN log_id DROP IDENTITY IF EXISTS;
+ALTER TABLE search_logs ALTER COLUMN log_id SET DEFAULT nextval('search_logs_seq');
+SELECT setval('search_logs_seq', (SELECT COALESCE(MAX(log_id), 0) + 1 FROM search_logs), false)
+WHERE (SELECT last_value FROM search_logs_seq) <= (SELECT COALESCE(MAX(log_id), 0) FROM search_logs);
+
+-- 클릭 로그 롤업 (ClickLogRollupService 가 시간/일 단위로 갱신, ClickLogRepositoryCustomImpl 이 조회)
+CREATE TABLE IF NOT EXISTS click_rollups_channel (
+  granularity VARCHAR(8) NOT NULL,
+  bucket_start TIMESTAMP NOT NULL,
+  target_channel VARCHAR(255) NOT NULL,
+  slider_sum DOUBLE PRECISION NOT NULL,
+  slider_count BIGINT NOT NULL,
+  clicks BIGINT NOT NULL,
+  PRIMARY KEY (granularity, bucket_start, target_channel)
+);
+CREATE TABLE IF NOT EXISTS click_rollups_isbn (
+  granularity VARCHAR(8) NOT NULL,
+  bucket_start TIMESTAMP NOT NULL,
+  isbn VARCHAR(32) NOT NULL,
+  clicks BIGINT NOT NULL,
+  PRIMARY KEY (granularity, bucket_start, isbn)
+);
+-- 롤업에 반영된 마지막 시각 (이 시각 이전의 완결된 시간 버킷만 롤업에 있음)
+CREATE TABLE IF NOT EXISTS rollup_watermarks (
+  name VARCHAR(64) PRIMARY KEY,
+  watermark TIMESTAMP
+);
+
+-- 검색 로그 시간 버킷별 HyperLogLog 스케치 (SearchAnalyticsService, metric: keyword | dept)
+CREATE TABLE IF NOT EXISTS search_log_sketches (
+  bucket_start TIMESTAMP NOT NULL,
+  metric VARCHAR(16) NOT NULL,
+  registers BYTEA NOT NULL,
+  PRIMARY KEY (bucket_start, metric)
+);
+
+-- 실시간 인기 도서 스케치 체크포인트 (TrendingService, 재시작 시 복원)
+CREATE TABLE IF NOT EXISTS trending_checkpoints (
+  window_name VARCHAR(8) NOT NULL,
+  bucket_index BIGINT NOT NULL,
+  item VARCHAR(64) NOT NULL,
+  item_count BIGINT NOT NULL,
+  item_error BIGINT NOT NULL,
+  PRIMARY KEY (window_name, bucket_index, item)
+);
@@ -0,0 +1,51 @@
+package yju.danawa.com.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupPlanTest {
+
+    private static LocalDateTime at(int day, int hour, int minute) {
+        return LocalDateTime.of(2026, 3, day, hour, minute);
+    }
+
+    @Test
+    void splitsIntoRawEdgesHoursAndDays() {
+        RollupPlan plan = RollupPlan.of(at(1, 10, 30), at(4, 5, 15), at(10, 0, 0));
+        assertEquals(at(1, 11, 0), plan.rollupStart());
+        assertEquals(at(2, 0, 0), plan.dayStart());
+        assertEquals(at(4, 0, 0), plan.dayEnd());
+        assertEquals(at(4, 5, 0), plan.rollupEnd());
+    }
+
+    @Test
+    void stopsRollupsAtWatermark() {
+        RollupPlan plan = RollupPlan.of(at(1, 0, 0), at(4, 0, 0), at(2, 6, 0));
+        assertEquals(at(1, 0, 0), plan.rollupStart());
+        assertEquals(at(1, 0, 0), plan.dayStart());
+        assertEquals(at(2, 0, 0), plan.dayEnd());
+        assertEquals(at(2, 6, 0), plan.rollupEnd());
+    }
+
+    @Test
+    void usesHoursOnlyWithinOneDay() {
+        RollupPlan plan = RollupPlan.of(at(1, 9, 10), at(1, 18, 0), at(5, 0, 0));
+        assertEquals(at(1, 10, 0), plan.rollupStart());
+        assertEquals(at(1, 18, 0), plan.dayStart());
+        assertEquals(at(1, 18, 0), plan.dayEnd());
+        assertEquals(at(1, 18, 0), plan.rollupEnd());
+    }
+
+    @Test
+    void readsRawRowsWhenNothingIsRolledUp() {
+        RollupPlan noWatermark = RollupPlan.of(at(1, 0, 0), at(3, 0, 0), null);
+        assertEquals(noWatermark.start(), noWatermark.rollupStart());
+        assertEquals(noWatermark.start(), noWatermark.rollupEnd());
+
+        RollupPlan shortRange = RollupPlan.of(at(1, 9, 10), at(1, 9, 50), at(5, 0, 0));
+        assertEquals(shortRange.start(), shortRange.rollupEnd());
+    }
+}
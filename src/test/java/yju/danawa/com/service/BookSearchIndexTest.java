@@ -0,0 +1,102 @@
+package yju.danawa.com.service;
+
+import org.junit.jupiter.api.Test;
+import yju.danawa.com.domain.Book;
+import yju.danawa.com.repository.BookRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex newIndex() {
+        BookSearchIndex index = new BookSearchIndex(null);
+        index.addAll(List.of(
+                new Book("9788966260959", "자바의 정석", "남궁성", "도우출판", null, null, 32000.0),
+                new Book("9791169210027", "이것이 자바다", "신용권", "한빛미디어", null, null, 36000.0),
+                new Book("9788968481475", "JavaScript Patterns", "Stoyan", "인사이트", null, null, 20000.0)
+        ));
+        return index;
+    }
+
+    @Test
+    void tokenizesHangulIntoBigrams() {
+        assertEquals(List.of("자바", "바의", "정석"), List.copyOf(BookSearchIndex.tokenize("자바의 정석")));
+    }
+
+    @Test
+    void findsSubstringMatchesRankedByTitle() {
+        List<BookSearchIndex.Hit> hits = newIndex().search("자바");
+        assertEquals(2, hits.size());
+        assertEquals("9788966260959", hits.get(0).book().isbn());
+    }
+
+    @Test
+    void matchesCaseInsensitivelyAndByIsbn() {
+        BookSearchIndex index = newIndex();
+        assertEquals(1, index.search("javascript").size());
+        assertEquals(1, index.search("8966260959").size());
+        assertTrue(index.search("파이썬").isEmpty());
+    }
+
+    @Test
+    void replacesBookWithSameIsbn() {
+        BookSearchIndex index = newIndex();
+        index.addAll(List.of(new Book("9788966260959", "자바의 정석 기초편", "남궁성", "도우출판", null, null, 25000.0)));
+        List<BookSearchIndex.Hit> hits = index.search("정석");
+        assertEquals(1, hits.size());
+        assertEquals("자바의 정석 기초편", hits.get(0).book().title());
+    }
+
+    @Test
+    void matchesChoseongAndPartiallyTypedHangul() {
+        BookSearchIndex index = newIndex();
+        assertEquals("9788966260959", index.searchHangul("ㅈㅂㅇㅈㅅ").get(0).book().isbn());
+        assertEquals(2, index.searchHangul("ㅈㅂ").size());
+        assertEquals("9788966260959", index.searchHangul("자바의 저").get(0).book().isbn());
+        assertEquals(1, index.searchHangul("신요").size());
+        assertEquals(1, index.searchHangul("javascript").size());
+        assertTrue(index.searchHangul("ㅍㅇㅆ").isEmpty());
+    }
+
+    @Test
+    void rebuildKeepsBooksAddedWhileLoadingSnapshot() {
+        BookSearchIndex[] holder = new BookSearchIndex[1];
+        // findAll 도중(스냅샷 이후) 다른 스레드가 저장한 도서를 addAll 로 반영하는 상황
+        BookRepository repository = (BookRepository) Proxy.newProxyInstance(
+                BookRepository.class.getClassLoader(), new Class<?>[]{BookRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findAll")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    holder[0].addAll(List.of(
+                            new Book("9791162245385", "파이썬 머신러닝", "세바스찬", "길벗", null, null, 40000.0)));
+                    return List.of(new Book("9788966260959", "자바의 정석", "남궁성", "도우출판", null, null, 32000.0));
+                });
+        holder[0] = new BookSearchIndex(repository);
+
+        holder[0].rebuild();
+
+        assertTrue(holder[0].isReady());
+        assertEquals(1, holder[0].search("자바").size());
+        assertEquals(1, holder[0].search("파이썬").size());
+    }
+
+    @Test
+    void compactsReplacedBooksWithoutFullRebuild() {
+        BookSearchIndex index = newIndex();
+        // 같은 ISBN 을 반복 저장 (BookDataLoaderService 재실행 등)
+        for (int i = 0; i < BookSearchIndex.COMPACT_MIN_DELETED * 3; i++) {
+            index.addAll(List.of(new Book("9788966260959", "자바의 정석 " + i, "남궁성", "도우출판", null, null, 32000.0)));
+        }
+
+        assertTrue(index.docCount() <= BookSearchIndex.COMPACT_MIN_DELETED + 3);
+        List<BookSearchIndex.Hit> hits = index.search("자바의 정석");
+        assertEquals(1, hits.size());
+        assertEquals("자바의 정석 " + (BookSearchIndex.COMPACT_MIN_DELETED * 3 - 1), hits.get(0).book().title());
+        assertEquals(1, index.search("이것이 자바다").size());
+        assertEquals(1, index.searchHangul("ㅈㅂㅇ ㅈㅅ").size());
+    }
+}
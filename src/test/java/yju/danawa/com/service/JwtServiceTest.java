@@ -14,4 +14,19 @@ class JwtServiceTest {
         assertTrue(jwtService.isTokenValid(token));
         assertEquals("tester", jwtService.extractUsername(token));
     }
+
+    @Test
+    void validatesOnceAndRejectsForeignTokens() {
+        JwtService jwtService = new JwtService("test-secret-key-change-me-32bytes!!", 5);
+        String token = jwtService.generateToken("tester");
+        JwtService.VerifiedToken first = jwtService.validate(token).orElseThrow();
+        assertEquals("tester", first.username());
+        assertNotNull(first.expiresAt());
+        assertSame(first, jwtService.validate(token).orElseThrow());
+
+        JwtService other = new JwtService("other-secret-key-change-me-32bytes!", 5);
+        assertTrue(other.validate(token).isEmpty());
+        assertTrue(jwtService.validate("not-a-token").isEmpty());
+        assertTrue(jwtService.validate(null).isEmpty());
+    }
 }
@@ -0,0 +1,24 @@
+package yju.danawa.com.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogExportServiceTest {
+
+    @Test
+    void quotesCsvFieldsOnlyWhenNeeded() {
+        assertEquals("자바의 정석", LogExportService.csv("자바의 정석"));
+        assertEquals("\"a,b\"", LogExportService.csv("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", LogExportService.csv("say \"hi\""));
+        assertEquals("", LogExportService.csv(null));
+    }
+
+    @Test
+    void escapesJsonStrings() {
+        assertEquals("\"line\\nbreak\"", LogExportService.json("line\nbreak"));
+        assertEquals("\"back\\\\slash \\\"q\\\"\"", LogExportService.json("back\\slash \"q\""));
+        assertEquals("\"\\u0001\"", LogExportService.json("\u0001"));
+        assertEquals("null", LogExportService.json(null));
+    }
+}
@@ -0,0 +1,19 @@
+package yju.danawa.com.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordFingerprintServiceTest {
+
+    @Test
+    void sameInputAndPepperGiveSameFingerprint() {
+        PasswordFingerprintService service = new PasswordFingerprintService("test-pepper", 1);
+        String fingerprint = service.fingerprint("password123!");
+        assertEquals(1, service.version());
+        assertEquals(64, fingerprint.length());
+        assertEquals(fingerprint, service.fingerprint("password123!"));
+        assertNotEquals(fingerprint, service.fingerprint("password123?"));
+        assertNotEquals(fingerprint, new PasswordFingerprintService("other-pepper", 2).fingerprint("password123!"));
+    }
+}
@@ -0,0 +1,25 @@
+package yju.danawa.com.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HangulJamoTest {
+
+    @Test
+    void decomposesSyllablesIntoBasicJamo() {
+        assertEquals("ㅈㅏㅂㅏㅇㅡㅣ ㅈㅓㅇㅅㅓㄱ", HangulJamo.decompose("자바의 정석"));
+        assertEquals("ㄷㅏㄹㄱ java", HangulJamo.decompose("닭 Java"));
+        assertTrue(HangulJamo.decompose("자바의 정석").contains(HangulJamo.decompose("자바의 저")));
+        assertTrue(HangulJamo.decompose("자바의 정석").contains(HangulJamo.decompose("자바으")));
+    }
+
+    @Test
+    void extractsChoseongWithoutSpaces() {
+        assertEquals("ㅈㅂㅇㅈㅅ", HangulJamo.choseong("자바의 정석"));
+        assertEquals("javaㅇㅈㅅ", HangulJamo.choseong("Java의 정석"));
+        assertTrue(HangulJamo.isChoseongOnly("ㅈㅂㅇ ㅈㅅ"));
+        assertFalse(HangulJamo.isChoseongOnly("자ㅂ"));
+        assertFalse(HangulJamo.isChoseongOnly(" "));
+    }
+}
@@ -0,0 +1,45 @@
+package yju.danawa.com.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimatesDistinctCountWithinError() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            hll.add("keyword-" + i);
+            hll.add("keyword-" + i);
+        }
+        assertEquals(50_000, hll.estimate(), 50_000 * 0.05);
+    }
+
+    @Test
+    void countsSmallSetsExactlyEnough() {
+        HyperLogLog hll = new HyperLogLog();
+        hll.add("자바");
+        hll.add("파이썬");
+        hll.add("자바");
+        assertEquals(2, hll.estimate());
+    }
+
+    @Test
+    void mergesAndRoundTrips() {
+        HyperLogLog a = new HyperLogLog();
+        HyperLogLog b = new HyperLogLog();
+        for (int i = 0; i < 3000; i++) {
+            a.add("a" + i);
+            b.add("b" + i);
+        }
+        a.merge(HyperLogLog.fromBytes(b.toBytes()));
+        assertEquals(6000, a.estimate(), 6000 * 0.05);
+
+        HyperLogLog small = new HyperLogLog();
+        small.add("x");
+        byte[] bytes = small.toBytes();
+        assertTrue(bytes.length < 10);
+        assertEquals(1, HyperLogLog.fromBytes(bytes).estimate());
+    }
+}
@@ -14,6 +14,13 @@ class IsbnLinksTest {
         assertFalse(IsbnLinks.isValidIsbn13("9780306406158"));
     }
 
+    @Test
+    void convertsToIsbn13() {
+        assertEquals("9780306406157", IsbnLinks.toIsbn13("0-306-40615-2"));
+        assertEquals("9788966260959", IsbnLinks.toIsbn13("9788966260959"));
+        assertNull(IsbnLinks.toIsbn13("12345"));
+    }
+
     @Test
     void buildsDeepLinks() {
         var links = IsbnLinks.buildDeepLinks("9780306406157");
@@ -0,0 +1,65 @@
+package yju.danawa.com.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscRingBufferTest {
+
+    @Test
+    void rejectsOfferWhenFullAndKeepsOrder() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertEquals(List.of(0, 1), drained);
+        assertTrue(buffer.offer(4));
+        assertEquals(3, buffer.drainTo(drained, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void deliversEveryItemFromConcurrentProducers() throws InterruptedException {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            batch.clear();
+            buffer.drainTo(batch, 100);
+            for (Integer item : batch) {
+                assertTrue(seen.add(item));
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,53 @@
+package yju.danawa.com.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    private static void offer(SpaceSaving sketch, String item, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.offer(item);
+        }
+    }
+
+    @Test
+    void keepsExactCountsUnderCapacity() {
+        SpaceSaving sketch = new SpaceSaving(10);
+        offer(sketch, "a", 5);
+        offer(sketch, "b", 3);
+        offer(sketch, "c", 1);
+
+        List<SpaceSaving.Entry> top = sketch.top(2);
+        assertEquals(List.of(new SpaceSaving.Entry("a", 5, 0), new SpaceSaving.Entry("b", 3, 0)), top);
+    }
+
+    @Test
+    void retainsHeavyHittersWhenFull() {
+        SpaceSaving sketch = new SpaceSaving(3);
+        for (int i = 0; i < 100; i++) {
+            sketch.offer("hot");
+            sketch.offer("noise" + i);
+        }
+        assertEquals(3, sketch.size());
+        SpaceSaving.Entry first = sketch.top(1).get(0);
+        assertEquals("hot", first.item());
+        assertTrue(first.count() - first.error() <= 100 && first.count() >= 100);
+    }
+
+    @Test
+    void mergesSketches() {
+        SpaceSaving a = new SpaceSaving(5);
+        SpaceSaving b = new SpaceSaving(5);
+        a.offer("x");
+        a.offer("y");
+        b.offer("x");
+        b.offer("x");
+
+        a.merge(b);
+        assertEquals(new SpaceSaving.Entry("x", 3, 0), a.top(1).get(0));
+    }
+}
@@ -0,0 +1,48 @@
+package yju.danawa.com.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestTrieTest {
+
+    private SuggestTrie newTrie() {
+        return SuggestTrie.builder(3)
+                .add("자바의 정석", 30)
+                .add("자바", 50)
+                .add("자바스크립트 패턴", 10)
+                .add("자료구조", 5)
+                .add("Java Performance", 20)
+                .build();
+    }
+
+    @Test
+    void returnsPrefixMatchesByWeight() {
+        List<SuggestTrie.Suggestion> suggestions = newTrie().suggest("자바", 10);
+        assertEquals(List.of("자바", "자바의 정석", "자바스크립트 패턴"),
+                suggestions.stream().map(SuggestTrie.Suggestion::text).toList());
+    }
+
+    @Test
+    void matchesInsideCompressedEdgesAndIgnoresCase() {
+        SuggestTrie trie = newTrie();
+        assertEquals("자바의 정석", trie.suggest("자바의  정", 5).get(0).text());
+        assertEquals("Java Performance", trie.suggest("JAVA p", 5).get(0).text());
+        assertEquals(2, trie.suggest("자", 2).size());
+        assertTrue(trie.suggest("자바의 정석 2판", 5).isEmpty());
+        assertTrue(trie.suggest("파이썬", 5).isEmpty());
+    }
+
+    @Test
+    void mergesWeightsOfSameKey() {
+        SuggestTrie trie = SuggestTrie.builder(5)
+                .add("자바", 3)
+                .add("자바 ", 4)
+                .add("  JAVA", 1)
+                .build();
+        assertEquals(2, trie.size());
+        assertEquals(new SuggestTrie.Suggestion("자바", 7), trie.suggest("자", 5).get(0));
+    }
+}
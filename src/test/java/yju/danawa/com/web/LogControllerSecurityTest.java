@@ -0,0 +1,158 @@
+package yju.danawa.com.web;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import yju.danawa.com.security.JwtAuthFilter;
+import yju.danawa.com.security.SecurityConfig;
+import yju.danawa.com.security.UserPrincipal;
+import yju.danawa.com.service.ClickLogIngestService;
+import yju.danawa.com.service.JwtService;
+import yju.danawa.com.service.LogExportService;
+import yju.danawa.com.service.SearchAnalyticsService;
+import yju.danawa.com.service.TrendingService;
+import yju.danawa.com.service.UserService;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 로그 내보내기 보안 체인: 스트리밍 응답이 ASYNC 디스패치까지 끝나는지
+ */
+@SpringJUnitWebConfig(LogControllerSecurityTest.Config.class)
+class LogControllerSecurityTest {
+
+    private static final String SECRET = "test-jwt-secret-key-at-least-32-bytes!!";
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private LogExportService logExportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Filter securityFilterChain = context.getBean("springSecurityFilterChain", Filter.class);
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilter(securityFilterChain, "springSecurityFilterChain", Map.of(),
+                        EnumSet.allOf(DispatcherType.class), "/*")
+                .build();
+
+        when(userService.findPrincipal("admin")).thenReturn(Optional.of(
+                new UserPrincipal(1L, "admin", "hash", 1, "컴퓨터정보", true, false, List.of("ADMIN"))));
+        when(userService.findPrincipal("student")).thenReturn(Optional.of(
+                new UserPrincipal(2L, "student", "hash", 1, "컴퓨터정보", true, false, List.of("USER"))));
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(5);
+            out.write("{\"click_id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(logExportService).export(any(), any(), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void adminExportStreamsThroughAsyncDispatch() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/logs/export/clicks")
+                        .param("from", "2026-03-01T00:00:00")
+                        .param("to", "2026-03-02T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken("admin")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"click_id\":1}\n"));
+    }
+
+    @Test
+    void nonAdminCannotExport() throws Exception {
+        mockMvc.perform(get("/api/logs/export/clicks")
+                        .param("from", "2026-03-01T00:00:00")
+                        .param("to", "2026-03-02T00:00:00")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken("student")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @EnableWebSecurity
+    @Import({SecurityConfig.class, JwtAuthFilter.class, LogController.class})
+    static class Config {
+
+        @Bean
+        static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+
+        @Bean
+        JwtService jwtService() {
+            return new JwtService(SECRET, 60);
+        }
+
+        // httpBasic 설정에 필요한 기본 인증 매니저용 (실제 앱은 Boot 자동 설정이 제공)
+        @Bean
+        UserDetailsService userDetailsService() {
+            return new InMemoryUserDetailsManager();
+        }
+
+        @Bean
+        UserService userService() {
+            return mock(UserService.class);
+        }
+
+        @Bean
+        LogExportService logExportService() {
+            return mock(LogExportService.class);
+        }
+
+        @Bean
+        ClickLogIngestService clickLogIngestService() {
+            return mock(ClickLogIngestService.class);
+        }
+
+        @Bean
+        TrendingService trendingService() {
+            return mock(TrendingService.class);
+        }
+
+        @Bean
+        SearchAnalyticsService searchAnalyticsService() {
+            return mock(SearchAnalyticsService.class);
+        }
+    }
+}